@@ -18,6 +18,9 @@ package org.quiltmc.enigma_plugin;
 
 import org.quiltmc.enigma.api.service.EnigmaService;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
+import org.tinylog.Logger;
+
+import java.util.Optional;
 
 /**
  * Contains all the keys of the arguments used by this plugin.
@@ -37,6 +40,10 @@ public class Arguments {
 	public static final String SIMPLE_TYPE_FIELD_NAMES_PATH = "simple_type_field_names_path";
 	public static final String MERGED_MAPPING_PATH = "merged_mapping_path";
 	public static final String PACKAGE_NAME_OVERRIDES_PATH = "package_name_overrides_path";
+	public static final String LOG_INDEX_FOOTPRINT = "log_index_footprint";
+	public static final String DISABLE_DEFERRED_INDEXING = "disable_deferred_indexing";
+	public static final String CLASS_PREFETCH_DEPTH = "class_prefetch_depth";
+	public static final String CLASS_PREFETCH_THREADS = "class_prefetch_threads";
 
 	public static <T extends EnigmaService> boolean getBoolean(EnigmaServiceContext<T> context, String arg) {
 		return getBoolean(context, arg, false);
@@ -45,4 +52,21 @@ public class Arguments {
 	public static <T extends EnigmaService> boolean getBoolean(EnigmaServiceContext<T> context, String arg, boolean disabledByDefault) {
 		return context.getSingleArgument(arg).map(Boolean::parseBoolean).orElse(disabledByDefault);
 	}
+
+	/**
+	 * {@return the integer value of an argument, or the default value if the argument is missing or isn't an integer}
+	 */
+	public static <T extends EnigmaService> int getInt(EnigmaServiceContext<T> context, String arg, int defaultValue) {
+		Optional<String> value = context.getSingleArgument(arg);
+		if (value.isEmpty()) {
+			return defaultValue;
+		}
+
+		try {
+			return Integer.parseInt(value.get().trim());
+		} catch (NumberFormatException e) {
+			Logger.error("Invalid integer for argument {}: \"{}\", using the default value {}", arg, value.get(), defaultValue);
+			return defaultValue;
+		}
+	}
 }
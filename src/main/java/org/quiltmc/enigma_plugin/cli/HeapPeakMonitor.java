@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.cli;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Tracks the peak heap usage, from the total heap used right before each garbage collection and when the peak is read.
+ *
+ * <p>
+ * Every sample covers the whole heap at a single point in time, unlike the sum of the peaks of each heap pool,
+ * which overestimates the peak as the pools don't peak at the same time.
+ */
+public class HeapPeakMonitor implements AutoCloseable {
+	private final Set<String> heapPools = new HashSet<>();
+	private final List<NotificationEmitter> emitters = new ArrayList<>();
+	private final NotificationListener listener = this::onNotification;
+	private final AtomicLong peak = new AtomicLong();
+	private volatile long resetUptime;
+
+	public HeapPeakMonitor() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				this.heapPools.add(pool.getName());
+			}
+		}
+
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (collector instanceof NotificationEmitter emitter) {
+				emitter.addNotificationListener(this.listener, null, null);
+				this.emitters.add(emitter);
+			}
+		}
+
+		this.reset();
+	}
+
+	/**
+	 * {@return the heap currently used}
+	 */
+	public static long getHeapUsage() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * Starts tracking a new peak, from the heap currently used.
+	 */
+	public void reset() {
+		this.resetUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		this.peak.set(getHeapUsage());
+	}
+
+	/**
+	 * {@return the peak heap usage since the last reset}
+	 */
+	public long getPeak() {
+		this.update(getHeapUsage());
+		return this.peak.get();
+	}
+
+	private void update(long used) {
+		this.peak.accumulateAndGet(used, Math::max);
+	}
+
+	private void onNotification(Notification notification, Object handback) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+			return;
+		}
+
+		var gcInfo = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+		// Notifications are delivered asynchronously, and may come from a collection preceding the reset
+		if (gcInfo.getStartTime() < this.resetUptime) {
+			return;
+		}
+
+		long used = 0;
+		for (Map.Entry<String, MemoryUsage> usage : gcInfo.getMemoryUsageBeforeGc().entrySet()) {
+			if (this.heapPools.contains(usage.getKey())) {
+				used += usage.getValue().getUsed();
+			}
+		}
+
+		this.update(used);
+	}
+
+	@Override
+	public void close() {
+		for (NotificationEmitter emitter : this.emitters) {
+			try {
+				emitter.removeNotificationListener(this.listener);
+			} catch (ListenerNotFoundException ignored) {
+				// Already removed
+			}
+		}
+	}
+}
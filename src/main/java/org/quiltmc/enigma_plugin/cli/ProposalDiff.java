@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.cli;
+
+import org.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Compares the names proposed for the same jar by two builds of the plugin, along with the time and memory they take,
+ * without needing network access.
+ *
+ * <p>
+ * Each build runs in its own JVM, through the {@link ProposalRunner} of this build, with a classpath made of the build
+ * and of the dependencies of this build, other than the plugin itself. Both builds must therefore work with the same
+ * Enigma version. The diff lists removed ({@code -}), added ({@code +}), renamed ({@code ~}) and reattributed ({@code @})
+ * proposals, after a header comparing the runs.
+ */
+public class ProposalDiff {
+	private static final String USAGE = "Usage: ProposalDiff <jar> <profile> <baseline plugin> <output> [--current <plugin>] [--heap <size>] [--threads <count>] [--no-dynamic]";
+	private static final String RUNNER_PACKAGE = "org/quiltmc/enigma_plugin/cli";
+	private static final String PLUGIN_PACKAGE = "org/quiltmc/enigma_plugin";
+	private static final String PLUGIN_SERVICE = "META-INF/services/org.quiltmc.enigma.api.EnigmaPlugin";
+
+	public static void main(String[] args) {
+		if (args.length < 4) {
+			Logger.info(USAGE);
+			System.exit(1);
+		}
+
+		Path jar = Path.of(args[0]).toAbsolutePath();
+		Path profile = Path.of(args[1]).toAbsolutePath();
+		Path baselinePlugin = Path.of(args[2]).toAbsolutePath();
+		Path output = Path.of(args[3]);
+		Path currentPlugin = null;
+		List<String> jvmArgs = new ArrayList<>();
+		List<String> runnerArgs = new ArrayList<>();
+
+		for (int i = 4; i < args.length; i++) {
+			if (args[i].equals("--no-dynamic")) {
+				runnerArgs.add(args[i]);
+			} else if (i + 1 >= args.length) {
+				Logger.error("Missing value for {}\n{}", args[i], USAGE);
+				System.exit(1);
+			} else {
+				switch (args[i]) {
+					case "--current" -> currentPlugin = Path.of(args[++i]).toAbsolutePath();
+					case "--heap" -> jvmArgs.add("-Xmx" + args[++i]);
+					case "--threads" -> {
+						runnerArgs.add(args[i]);
+						runnerArgs.add(args[++i]);
+					}
+					default -> {
+						Logger.error("Unknown option: {}\n{}", args[i], USAGE);
+						System.exit(1);
+					}
+				}
+			}
+		}
+
+		try {
+			Path workDir = Files.createTempDirectory("proposal-diff");
+			Path runnerDir = workDir.resolve("runner");
+			extractRunner(runnerDir);
+
+			List<Path> currentPluginPaths = new ArrayList<>();
+			List<Path> dependencies = new ArrayList<>();
+			for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+				Path classpathEntry = Path.of(path).toAbsolutePath();
+				if (isPlugin(classpathEntry)) {
+					currentPluginPaths.add(classpathEntry);
+				} else {
+					dependencies.add(classpathEntry);
+				}
+			}
+
+			if (currentPlugin != null) {
+				currentPluginPaths = List.of(currentPlugin);
+			}
+
+			var baseline = run("baseline", List.of(baselinePlugin), runnerDir, dependencies, workDir, jar, profile, jvmArgs, runnerArgs);
+			var current = run("current", currentPluginPaths, runnerDir, dependencies, workDir, jar, profile, jvmArgs, runnerArgs);
+
+			writeDiff(baseline, current, output);
+		} catch (IOException | InterruptedException e) {
+			Logger.error(e, "Failed to compare the proposals");
+			System.exit(2);
+		}
+	}
+
+	private static Side run(String name, List<Path> plugin, Path runnerDir, List<Path> dependencies, Path workDir, Path jar, Path profile,
+			List<String> jvmArgs, List<String> runnerArgs) throws IOException, InterruptedException {
+		// The runner comes first, in case the plugin has its own version of it
+		List<String> classpath = new ArrayList<>();
+		classpath.add(runnerDir.toString());
+		plugin.forEach(path -> classpath.add(path.toString()));
+		dependencies.forEach(path -> classpath.add(path.toString()));
+
+		Path listing = workDir.resolve(name + ".txt");
+		Path stats = workDir.resolve(name + ".properties");
+
+		List<String> command = new ArrayList<>();
+		command.add(ProcessHandle.current().info().command().orElse("java"));
+		command.addAll(jvmArgs);
+		command.add("-cp");
+		command.add(String.join(File.pathSeparator, classpath));
+		command.add(ProposalRunner.class.getName());
+		command.add(jar.toString());
+		command.add(profile.toString());
+		command.add(listing.toString());
+		command.add("--listing");
+		command.add("--stats");
+		command.add(stats.toString());
+		command.addAll(runnerArgs);
+
+		Logger.info("Running the {} proposals", name);
+		int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+		if (exitCode != 0) {
+			throw new IOException("The " + name + " proposals failed with exit code " + exitCode);
+		}
+
+		Map<String, String> proposals = new TreeMap<>();
+		for (String line : Files.readAllLines(listing)) {
+			int separator = line.indexOf('\t');
+			proposals.put(line.substring(0, separator), line.substring(separator + 1));
+		}
+
+		var properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(stats)) {
+			properties.load(reader);
+		}
+
+		return new Side(plugin.toString(), proposals, properties);
+	}
+
+	private static void writeDiff(Side baseline, Side current, Path output) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("# baseline: " + baseline.plugin());
+		lines.add("# current: " + current.plugin());
+		lines.add(compare("proposals", baseline, current, "proposedNames", 1, ""));
+		lines.add(compare("time", baseline, current, "nanos", 1_000_000, " ms"));
+		lines.add(compare("allocated", baseline, current, "allocatedBytes", 1024 * 1024, " MiB"));
+		lines.add(compare("peak heap", baseline, current, "peakHeapBytes", 1024 * 1024, " MiB"));
+
+		int removed = 0;
+		int added = 0;
+		int renamed = 0;
+		int reattributed = 0;
+
+		var entries = new TreeSet<>(baseline.proposals().keySet());
+		entries.addAll(current.proposals().keySet());
+		for (String entry : entries) {
+			String before = baseline.proposals().get(entry);
+			String after = current.proposals().get(entry);
+
+			if (after == null) {
+				lines.add("- " + entry + "\t" + before);
+				removed++;
+			} else if (before == null) {
+				lines.add("+ " + entry + "\t" + after);
+				added++;
+			} else if (!before.equals(after)) {
+				String beforeName = before.substring(0, before.indexOf('\t'));
+				String afterName = after.substring(0, after.indexOf('\t'));
+
+				if (beforeName.equals(afterName)) {
+					lines.add("@ " + entry + "\t" + before + " -> " + after.substring(after.indexOf('\t') + 1));
+					reattributed++;
+				} else {
+					lines.add("~ " + entry + "\t" + before + " -> " + after);
+					renamed++;
+				}
+			}
+		}
+
+		Files.write(output, lines);
+
+		Logger.info("{} removed, {} added, {} renamed, {} reattributed proposals, written to {}\n  {}\n  {}\n  {}",
+				removed, added, renamed, reattributed, output, lines.get(3), lines.get(4), lines.get(5));
+	}
+
+	private static String compare(String name, Side baseline, Side current, String property, long unit, String suffix) {
+		long before = Long.parseLong(baseline.stats().getProperty(property, "-1"));
+		long after = Long.parseLong(current.stats().getProperty(property, "-1"));
+		String change = before > 0 ? String.format(" (%+.1f%%)", 100.0 * (after - before) / before) : "";
+
+		return "# " + name + ": " + before / unit + suffix + " -> " + after / unit + suffix + change;
+	}
+
+	// Copies the classes of this package, so that they can run without the rest of this build of the plugin.
+	// The runner must therefore only use classes of this package, of Enigma and of the other dependencies
+	static void extractRunner(Path destination) throws IOException {
+		Path source;
+		try {
+			source = Path.of(ProposalDiff.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (Exception e) {
+			throw new IOException("Cannot locate the proposal runner", e);
+		}
+
+		try (FileSystem jarFileSystem = Files.isDirectory(source) ? null : FileSystems.newFileSystem(source)) {
+			Path root = jarFileSystem == null ? source : jarFileSystem.getPath("/");
+			Path runnerPackage = root.resolve(RUNNER_PACKAGE);
+			Path destinationPackage = destination.resolve(RUNNER_PACKAGE);
+			Files.createDirectories(destinationPackage);
+
+			try (Stream<Path> classes = Files.list(runnerPackage)) {
+				for (Path file : (Iterable<Path>) classes::iterator) {
+					Files.copy(file, destinationPackage.resolve(file.getFileName().toString()));
+				}
+			}
+		}
+	}
+
+	// Whether a classpath entry holds classes or the service registration of this plugin
+	private static boolean isPlugin(Path classpathEntry) throws IOException {
+		if (!Files.isDirectory(classpathEntry) && !(Files.isRegularFile(classpathEntry) && classpathEntry.toString().endsWith(".jar"))) {
+			return false;
+		}
+
+		try (FileSystem jarFileSystem = Files.isDirectory(classpathEntry) ? null : FileSystems.newFileSystem(classpathEntry)) {
+			Path root = jarFileSystem == null ? classpathEntry : jarFileSystem.getPath("/");
+			if (Files.isDirectory(root.resolve(PLUGIN_PACKAGE))) {
+				return true;
+			}
+
+			Path service = root.resolve(PLUGIN_SERVICE);
+			return Files.exists(service) && Files.readString(service).contains(PLUGIN_PACKAGE.replace('/', '.'));
+		}
+	}
+
+	private record Side(String plugin, Map<String, String> proposals, Properties stats) {
+	}
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.cli;
+
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.source.TokenType;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.tree.EntryTree;
+import org.quiltmc.enigma.api.translation.mapping.tree.EntryTreeNode;
+import org.quiltmc.enigma.api.translation.mapping.tree.HashEntryTree;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Proposes names for a jar without the Enigma GUI, and writes them to a mappings file,
+ * in the format matching its path (for example, a directory for Enigma mappings, or a {@code .tiny} file).
+ *
+ * <p>
+ * The indexes and proposers are configured by the profile, like in Enigma. {@code --threads} only sets the number of
+ * threads used by the proposers running concurrently: the threads loading classes while indexing are set by the
+ * {@code class_prefetch_threads} argument of the profile instead. The heap size is the one of the JVM, with
+ * {@code --max-heap} making the run fail if the heap usage peaks above a budget.
+ *
+ * <p>
+ * With {@code --listing}, the output is instead a sorted plain text listing of the proposals, see {@link #writeListing},
+ * and {@code --stats} writes the summary as properties, both meant to be read by {@link ProposalDiff}.
+ */
+public class ProposalRunner {
+	private static final String USAGE = "Usage: ProposalRunner <jar> <profile> <output> [--threads <count>] [--max-heap <MiB>] [--no-dynamic] [--listing] [--stats <file>]";
+	private static final int EXIT_USAGE = 1;
+	private static final int EXIT_FAILURE = 2;
+	private static final int EXIT_OVER_BUDGET = 3;
+
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			Logger.info(USAGE);
+			System.exit(EXIT_USAGE);
+		}
+
+		Path jar = Path.of(args[0]);
+		Path profilePath = Path.of(args[1]);
+		Path output = Path.of(args[2]);
+		Path stats = null;
+		long maxHeapBytes = -1;
+		boolean dynamic = true;
+		boolean listing = false;
+
+		for (int i = 3; i < args.length; i++) {
+			switch (args[i]) {
+				case "--threads" -> {
+					// Must be set before the common pool is first used
+					System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism", String.valueOf(requirePositiveNumber(args, ++i)));
+				}
+				case "--max-heap" -> maxHeapBytes = requirePositiveNumber(args, ++i) * 1024 * 1024;
+				case "--no-dynamic" -> dynamic = false;
+				case "--listing" -> listing = true;
+				case "--stats" -> stats = Path.of(requireValue(args, ++i));
+				default -> {
+					Logger.error("Unknown option: {}\n{}", args[i], USAGE);
+					System.exit(EXIT_USAGE);
+				}
+			}
+		}
+
+		Result result;
+		try {
+			var profile = EnigmaProfile.read(profilePath);
+			var enigma = Enigma.builder().setProfile(profile).build();
+			result = run(enigma, jar, dynamic);
+
+			if (stats != null) {
+				writeStats(result, stats);
+			}
+
+			if (listing) {
+				writeListing(result.proposedNames(), output);
+			} else {
+				var writer = enigma.getReadWriteService(output);
+				if (writer.isEmpty()) {
+					Logger.error("Unsupported mappings format: {}", output);
+					System.exit(EXIT_USAGE);
+					return;
+				}
+
+				writer.get().write(toTree(result.proposedNames()), output, ProgressListener.createEmpty(), profile.getMappingSaveParameters());
+			}
+		} catch (IOException e) {
+			Logger.error(e, "Failed to propose names for {}", jar);
+			System.exit(EXIT_FAILURE);
+			return;
+		}
+
+		Logger.info("Proposed {} names ({} from the jar, {} dynamic) in {} ms\n"
+				+ "  {} MiB allocated on the main thread, {} MiB peak heap (max {} MiB)",
+				result.proposedNames().size(), result.jarProposedNames(), result.dynamicProposedNames(), result.nanos() / 1_000_000,
+				toMiB(result.allocatedBytes()), toMiB(result.peakHeapBytes()), toMiB(Runtime.getRuntime().maxMemory()));
+
+		if (maxHeapBytes >= 0 && result.peakHeapBytes() > maxHeapBytes) {
+			Logger.error("Peak heap of {} MiB is over the budget of {} MiB", toMiB(result.peakHeapBytes()), toMiB(maxHeapBytes));
+			System.exit(EXIT_OVER_BUDGET);
+		}
+	}
+
+	private static String requireValue(String[] args, int i) {
+		if (i >= args.length) {
+			Logger.error("Missing value for {}\n{}", args[i - 1], USAGE);
+			System.exit(EXIT_USAGE);
+		}
+
+		return args[i];
+	}
+
+	private static long requirePositiveNumber(String[] args, int i) {
+		String value = requireValue(args, i);
+		long number;
+		try {
+			number = Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			number = 0;
+		}
+
+		if (number <= 0) {
+			Logger.error("Invalid value for {}, expected a positive number: {}\n{}", args[i - 1], value, USAGE);
+			System.exit(EXIT_USAGE);
+		}
+
+		return number;
+	}
+
+	/**
+	 * Opens a jar, which indexes it and proposes names from it, and collects the proposed names.
+	 *
+	 * @param enigma the enigma instance, with the plugins to run
+	 * @param jar the jar
+	 * @param dynamic whether to also collect the names dynamically proposed from the jar proposals
+	 * @return the proposed names, along with the time and memory it took to propose them
+	 * @throws IOException if the jar can't be read
+	 */
+	public static Result run(Enigma enigma, Path jar, boolean dynamic) throws IOException {
+		var threadBean = ManagementFactory.getThreadMXBean();
+		var allocationBean = threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() ? bean : null;
+		long threadId = Thread.currentThread().getId();
+
+		System.gc();
+		long baseline = HeapPeakMonitor.getHeapUsage();
+
+		try (var monitor = new HeapPeakMonitor()) {
+			long startBytes = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : 0;
+			long start = System.nanoTime();
+
+			var project = enigma.openJar(jar, new ClasspathClassProvider(), ProgressListener.createEmpty());
+			var remapper = project.getRemapper();
+
+			Map<Entry<?>, EntryMapping> proposedNames = new HashMap<>();
+			collectProposedNames(remapper.getJarProposedMappings(), TokenType.JAR_PROPOSED, proposedNames);
+			int jarProposedNames = proposedNames.size();
+
+			if (dynamic) {
+				// Fire the dynamic proposals like when mappings are loaded
+				remapper.insertDynamicallyProposedMappings(null, null, null);
+				collectProposedNames(remapper.getProposedMappings(), TokenType.DYNAMIC_PROPOSED, proposedNames);
+			}
+
+			long nanos = System.nanoTime() - start;
+			long allocatedBytes = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) - startBytes : -1;
+			long peakHeapBytes = monitor.getPeak() - baseline;
+
+			return new Result(proposedNames, jarProposedNames, proposedNames.size() - jarProposedNames, nanos, allocatedBytes, peakHeapBytes);
+		}
+	}
+
+	private static void collectProposedNames(EntryTree<EntryMapping> tree, TokenType tokenType, Map<Entry<?>, EntryMapping> proposedNames) {
+		for (var node : tree.getRootNodes()) {
+			collectProposedNames(node, tokenType, proposedNames);
+		}
+	}
+
+	private static void collectProposedNames(EntryTreeNode<EntryMapping> node, TokenType tokenType, Map<Entry<?>, EntryMapping> proposedNames) {
+		var mapping = node.getValue();
+		if (mapping != null && mapping.targetName() != null && mapping.tokenType() == tokenType) {
+			proposedNames.put(node.getEntry(), mapping);
+		}
+
+		for (var child : node.getChildNodes()) {
+			collectProposedNames(child, tokenType, proposedNames);
+		}
+	}
+
+	private static EntryTree<EntryMapping> toTree(Map<Entry<?>, EntryMapping> proposedNames) {
+		EntryTree<EntryMapping> tree = new HashEntryTree<>();
+		for (var entry : proposedNames.entrySet()) {
+			// Written as regular mappings, as the writers may skip proposed ones
+			tree.insert(entry.getKey(), new EntryMapping(entry.getValue().targetName()));
+		}
+
+		return tree;
+	}
+
+	/**
+	 * Writes the proposed names as a sorted listing, with one tab-separated line per entry, holding its
+	 * {@linkplain #describe(Entry) description}, proposed name and source plugin.
+	 *
+	 * @param proposedNames the proposed names
+	 * @param output the listing file
+	 * @throws IOException if the file can't be written
+	 */
+	public static void writeListing(Map<Entry<?>, EntryMapping> proposedNames, Path output) throws IOException {
+		List<String> lines = new ArrayList<>(proposedNames.size());
+		for (var entry : proposedNames.entrySet()) {
+			lines.add(describe(entry.getKey()) + "\t" + entry.getValue().targetName() + "\t" + entry.getValue().sourcePluginId());
+		}
+
+		Collections.sort(lines);
+		Files.write(output, lines);
+	}
+
+	/**
+	 * Describes an entry by its obfuscated names and descriptors, uniquely among the entries of a jar.
+	 *
+	 * @param entry the entry
+	 * @return the description
+	 */
+	public static String describe(Entry<?> entry) {
+		if (entry instanceof ClassEntry classEntry) {
+			return classEntry.getFullName();
+		} else if (entry instanceof FieldEntry field) {
+			return describe(field.getParent()) + "." + field.getName() + ":" + field.getDesc();
+		} else if (entry instanceof MethodEntry method) {
+			return describe(method.getParent()) + "." + method.getName() + method.getDesc();
+		} else if (entry instanceof LocalVariableEntry local) {
+			return describe(local.getParent()) + "#" + local.getIndex();
+		} else {
+			return entry.getFullName();
+		}
+	}
+
+	private static void writeStats(Result result, Path output) throws IOException {
+		var properties = new Properties();
+		properties.setProperty("proposedNames", String.valueOf(result.proposedNames().size()));
+		properties.setProperty("jarProposedNames", String.valueOf(result.jarProposedNames()));
+		properties.setProperty("dynamicProposedNames", String.valueOf(result.dynamicProposedNames()));
+		properties.setProperty("nanos", String.valueOf(result.nanos()));
+		properties.setProperty("allocatedBytes", String.valueOf(result.allocatedBytes()));
+		properties.setProperty("peakHeapBytes", String.valueOf(result.peakHeapBytes()));
+
+		try (var writer = Files.newBufferedWriter(output)) {
+			properties.store(writer, null);
+		}
+	}
+
+	private static long toMiB(long bytes) {
+		return bytes / 1024 / 1024;
+	}
+
+	/**
+	 * The names proposed for a jar.
+	 *
+	 * @param proposedNames the proposed names, with the dynamic proposals replacing the jar proposals of the same entries
+	 * @param jarProposedNames the number of names proposed from the jar
+	 * @param dynamicProposedNames the number of entries only proposed dynamically
+	 * @param nanos the time taken to open the jar and propose the names
+	 * @param allocatedBytes the memory allocated by the calling thread, or {@code -1} if unsupported by the JVM
+	 * @param peakHeapBytes the peak heap usage above the usage before opening the jar
+	 */
+	public record Result(Map<Entry<?>, EntryMapping> proposedNames, int jarProposedNames, int dynamicProposedNames,
+			long nanos, long allocatedBytes, long peakHeapBytes) {
+	}
+}
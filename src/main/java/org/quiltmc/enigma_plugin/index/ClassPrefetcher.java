@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.class_provider.ClassProvider;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the classes of a jar ahead of their indexing, on background threads.
+ *
+ * <p>
+ * The classes are returned in the order they were given in. At most {@code depth} classes are loaded ahead
+ * of the consumer, so that a slow consumer doesn't keep the whole jar in memory. With a depth of {@code 0},
+ * the classes are loaded by the consumer itself.
+ *
+ * <p>
+ * Class providers aren't documented as thread-safe. With a single thread, the provider is never called concurrently:
+ * the loads of the background thread and the calls made through {@link #getClassProvider()} share a lock, and only the
+ * reading and parsing of a class overlaps with its indexing. More threads call the provider concurrently, and must only
+ * be used with providers supporting it.
+ */
+public class ClassPrefetcher implements AutoCloseable {
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final ClassProvider classProvider;
+	private final ClassProvider lockedClassProvider;
+	private final Iterator<String> classes;
+	private final int depth;
+	private final ExecutorService executor;
+	private final Deque<Future<ClassNode>> queue = new ArrayDeque<>();
+	private int loadedClasses;
+	private int waits;
+	private long waitNanos;
+
+	public ClassPrefetcher(ClassProvider classProvider, Collection<String> classes, int depth, int threads) {
+		this.classProvider = classProvider;
+		this.lockedClassProvider = threads > 1 ? classProvider : new LockedClassProvider(classProvider);
+		this.classes = classes.iterator();
+		this.depth = Math.max(depth, 0);
+		this.executor = this.depth > 0 ? Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+			var thread = new Thread(runnable, "Class prefetcher " + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	private void fill() {
+		while (this.queue.size() < this.depth && this.classes.hasNext()) {
+			String className = this.classes.next();
+			this.queue.add(this.executor.submit(() -> this.lockedClassProvider.get(className)));
+		}
+	}
+
+	/**
+	 * {@return the class provider to load other classes with while this prefetcher is open}
+	 * Unless several threads were requested, its calls never run concurrently with the loads of the prefetcher.
+	 */
+	public ClassProvider getClassProvider() {
+		return this.lockedClassProvider;
+	}
+
+	public boolean hasNext() {
+		return !this.queue.isEmpty() || this.classes.hasNext();
+	}
+
+	/**
+	 * Gets the next class, waiting for it to be loaded if needed.
+	 *
+	 * @return the class node, or {@code null} if the class provider couldn't find it
+	 */
+	public ClassNode next() {
+		this.loadedClasses++;
+		if (this.executor == null) {
+			return this.classProvider.get(this.classes.next());
+		}
+
+		this.fill();
+		var future = this.queue.remove();
+		// Keep the workers busy while the returned class is indexed
+		this.fill();
+
+		boolean waiting = !future.isDone();
+		long start = waiting ? System.nanoTime() : 0;
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while loading classes", e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+		} finally {
+			if (waiting) {
+				this.waits++;
+				this.waitNanos += System.nanoTime() - start;
+			}
+		}
+	}
+
+	/**
+	 * {@return the number of classes returned so far}
+	 */
+	public int getLoadedClasses() {
+		return this.loadedClasses;
+	}
+
+	/**
+	 * {@return the number of classes the consumer had to wait for}
+	 */
+	public int getWaits() {
+		return this.waits;
+	}
+
+	/**
+	 * {@return the total time the consumer spent waiting for classes, in nanoseconds}
+	 */
+	public long getWaitNanos() {
+		return this.waitNanos;
+	}
+
+	@Override
+	public void close() {
+		if (this.executor != null) {
+			for (var future : this.queue) {
+				future.cancel(true);
+			}
+
+			this.queue.clear();
+			this.executor.shutdownNow();
+		}
+	}
+
+	private record LockedClassProvider(ClassProvider classProvider) implements ClassProvider {
+		@Override
+		public synchronized Collection<String> getClassNames() {
+			return this.classProvider.getClassNames();
+		}
+
+		@Override
+		public synchronized ClassNode get(String name) {
+			return this.classProvider.get(name);
+		}
+	}
+}
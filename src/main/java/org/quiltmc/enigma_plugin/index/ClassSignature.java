@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The parts of a class an {@link Index} needs to find in a class to index anything from it: access flags,
+ * a superclass, the descriptor of a field, or a class referenced by an instruction.
+ * A class matches a signature if it has any of these parts.
+ *
+ * <p>
+ * Signatures let the {@link JarIndexer} skip the classes an index would ignore, before the index walks their methods.
+ */
+public record ClassSignature(int access, Set<String> superClasses, Set<String> fieldDescriptors, Set<String> referencedClasses) {
+	public static ClassSignature access(int access) {
+		return new ClassSignature(access, Set.of(), Set.of(), Set.of());
+	}
+
+	public static ClassSignature superClass(String superClass) {
+		return new ClassSignature(0, Set.of(superClass), Set.of(), Set.of());
+	}
+
+	public static ClassSignature fieldDescriptor(String descriptor) {
+		return new ClassSignature(0, Set.of(), Set.of(descriptor), Set.of());
+	}
+
+	public static ClassSignature referencedClasses(Set<String> classes) {
+		return new ClassSignature(0, Set.of(), Set.of(), Set.copyOf(classes));
+	}
+
+	public ClassSignature or(ClassSignature other) {
+		return new ClassSignature(this.access | other.access, union(this.superClasses, other.superClasses),
+				union(this.fieldDescriptors, other.fieldDescriptors), union(this.referencedClasses, other.referencedClasses));
+	}
+
+	private static Set<String> union(Set<String> a, Set<String> b) {
+		if (a.isEmpty()) {
+			return b;
+		} else if (b.isEmpty()) {
+			return a;
+		}
+
+		var union = new HashSet<>(a);
+		union.addAll(b);
+		return Set.copyOf(union);
+	}
+
+	/**
+	 * Checks whether a class has any part of this signature.
+	 *
+	 * @param node the class
+	 * @param references the classes referenced by the instructions of the class, computed on demand
+	 *                   with {@link #collectReferencedClasses(ClassNode)}
+	 * @return whether the class matches
+	 */
+	public boolean matches(ClassNode node, ReferencedClasses references) {
+		if ((node.access & this.access) != 0) {
+			return true;
+		} else if (node.superName != null && this.superClasses.contains(node.superName)) {
+			return true;
+		}
+
+		if (!this.fieldDescriptors.isEmpty()) {
+			for (FieldNode field : node.fields) {
+				if (this.fieldDescriptors.contains(field.desc)) {
+					return true;
+				}
+			}
+		}
+
+		if (!this.referencedClasses.isEmpty()) {
+			for (String clazz : references.get()) {
+				if (this.referencedClasses.contains(clazz)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collects the owners of the fields and methods used by the instructions of a class, and the types they create
+	 * or check.
+	 *
+	 * @param node the class
+	 * @return the referenced classes
+	 */
+	public static Set<String> collectReferencedClasses(ClassNode node) {
+		Set<String> classes = new HashSet<>();
+		for (MethodNode method : node.methods) {
+			for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+				if (insn instanceof MethodInsnNode methodInsn) {
+					classes.add(methodInsn.owner);
+				} else if (insn instanceof FieldInsnNode fieldInsn) {
+					classes.add(fieldInsn.owner);
+				} else if (insn instanceof TypeInsnNode typeInsn) {
+					classes.add(typeInsn.desc);
+				}
+			}
+		}
+
+		return classes;
+	}
+
+	/**
+	 * A lazily computed set of the classes referenced by a class, shared by the signatures of all indexes.
+	 */
+	public static class ReferencedClasses {
+		private final ClassNode node;
+		private Set<String> classes;
+
+		public ReferencedClasses(ClassNode node) {
+			this.node = node;
+		}
+
+		public Set<String> get() {
+			if (this.classes == null) {
+				this.classes = collectReferencedClasses(this.node);
+			}
+
+			return this.classes;
+		}
+	}
+}
@@ -33,14 +33,12 @@ import org.objectweb.asm.tree.analysis.SourceInterpreter;
 import org.objectweb.asm.tree.analysis.SourceValue;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
 import org.quiltmc.enigma.api.service.JarIndexerService;
-import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
-import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.util.AsmUtil;
 import org.quiltmc.enigma_plugin.util.CasingUtil;
+import org.quiltmc.enigma_plugin.util.DefUseGraph;
 import org.tinylog.Logger;
 
 import java.util.HashMap;
@@ -106,6 +104,14 @@ public class CodecIndex extends Index {
 				&& (CODEC_FIELD_METHODS.stream().anyMatch(m -> m.matches(mInsn)) || CODEC_OPTIONAL_FIELD_METHODS.stream().anyMatch(m -> m.matches(mInsn)));
 	}
 
+	@Override
+	public ClassSignature getClassSignature() {
+		// Field codecs are only created by invoking methods of codec classes
+		Set<String> codecClasses = new HashSet<>(BUILTIN_CODEC_CLASSES);
+		codecClasses.addAll(this.customCodecClasses);
+		return ClassSignature.referencedClasses(codecClasses);
+	}
+
 	@Override
 	public void visitClassNode(ClassNode node) {
 		for (MethodNode method : node.methods) {
@@ -121,6 +127,7 @@ public class CodecIndex extends Index {
 	private void visitMethodNode(ClassNode parent, MethodNode node) throws AnalyzerException {
 		Frame<SourceValue>[] frames = this.analyzer.analyze(parent.name, node);
 		InsnList instructions = node.instructions;
+		DefUseGraph graph = null;
 
 		for (int i = 1; i < instructions.size() && i < frames.length - 1; i++) {
 			AbstractInsnNode insn = instructions.get(i);
@@ -133,84 +140,76 @@ public class CodecIndex extends Index {
 					continue;
 				}
 
-				MethodInsnNode codecInsn = methodInsn;
-				// Find a forGetter call
-				for (int j = i + 1; j < instructions.size(); j++) {
-					Frame<SourceValue> frame = frames[j];
-					if (frame == null) {
-						continue;
-					}
+				if (graph == null) {
+					graph = DefUseGraph.build(instructions, frames);
+				}
 
-					// Make sure the field codec is still in the stack
-					int codecInsnIndex = -1;
-					for (int k = 0; k < frame.getStackSize(); k++) {
-						SourceValue value = frame.getStack(k);
-						for (AbstractInsnNode insn2 : value.insns) {
-							if (insn2 == codecInsn) {
-								codecInsnIndex = k;
-								break;
-							}
-						}
-					}
+				InvokeDynamicInsnNode getterInsn = this.findGetter(graph, methodInsn);
+				if (getterInsn != null) {
+					// Logger.info("Found getter call " + getterInsn.bsm);
+					this.visitGetterInvokeDynamicInsn(parent, getterInsn, name);
+				}
+			}
+		}
+	}
 
-					if (codecInsnIndex == -1) {
-						break;
-					}
+	/**
+	 * Follows a field codec through the invocations consuming it until a {@code forGetter} call is found.
+	 *
+	 * @param graph the def-use graph of the method
+	 * @param codecInsn the instruction creating the field codec
+	 * @return the {@code invokedynamic} instruction creating the getter, or {@code null} if there's none
+	 */
+	private InvokeDynamicInsnNode findGetter(DefUseGraph graph, MethodInsnNode codecInsn) {
+		Set<AbstractInsnNode> visited = new HashSet<>();
+		AbstractInsnNode current = codecInsn;
+
+		while (current != null && visited.add(current)) {
+			AbstractInsnNode next = null;
+
+			for (DefUseGraph.Use use : graph.getUses(current)) {
+				if (!(use.insn() instanceof MethodInsnNode methodInsn)) {
+					continue;
+				}
 
-					AbstractInsnNode insn2 = instructions.get(j);
-					if (insn2 instanceof MethodInsnNode methodInsn2) {
-						if (methodInsn2.owner.equals(FOR_GETTER_METHOD_OWNER) && FOR_GETTER_METHOD.matches(methodInsn2)) {
-							// Logger.info("Found forGetter call " + methodInsn2.getOpcode() + " (" + j + ")");
-							AbstractInsnNode getterInsn = instructions.get(j - 1);
-							if (!(getterInsn instanceof InvokeDynamicInsnNode getterInvokeInsn)) {
-								continue;
-							}
-
-							// Logger.info("Found getter call " + getterInvokeInsn.bsm + " (" + (j - 1) + ")");
-							this.visitGetterInvokeDynamicInsn(parent, getterInvokeInsn, name);
-							break;
-						} else {
-							// Check the return type of the method is a codec
-							Type type = Type.getMethodType(methodInsn2.desc);
-							Type ret = type.getReturnType();
-							if (ret.getSort() != Type.OBJECT || !this.isCodecClass(ret.getInternalName())) {
-								continue;
-							}
-
-							// Update the insn returning the codec if needed
-							// For example, `fieldOf("foo").orElse(0)` would remove the `fieldOf` instruction from the stack, so now we have to track the `orElse` instruction
-							boolean hasThis = methodInsn2.getOpcode() != INVOKESTATIC;
-							int argsSize = type.getArgumentsAndReturnSizes() >> 2;
-							// Skip the first argument (automatically-added 'this' pointer) if the method doesn't have one (is static)
-							int offset = (hasThis ? 0 : 1) + frame.getStackSize() - argsSize;
-
-							// The first argument 'this' may be the codec
-							if (hasThis && codecInsnIndex == offset) {
-								// Logger.info("Found field codec call " + methodInsn2.getOpcode() + " (" + j + ")");
-								codecInsn = methodInsn2;
-								continue;
-							}
-
-							// If the method is static, check the args passed to it to check if the codec was one of them
-							Type[] args = type.getArgumentTypes();
-							for (int k = 0; k < args.length; k++) {
-								if (args[k].getSort() != Type.OBJECT || !this.isCodecClass(args[k].getInternalName())) {
-									continue;
-								}
-
-								// Offset by one slot if there's a 'this' pointer
-								if (codecInsnIndex == offset + k + (hasThis ? 1 : 0)) {
-									// The codec was passed to a static method, track the result of that method
-									// Logger.info("Found field codec consuming call " + methodInsn2.getOpcode() + " (" + j + ")");
-									codecInsn = methodInsn2;
-									break;
-								}
-							}
-						}
+				if (methodInsn.owner.equals(FOR_GETTER_METHOD_OWNER) && FOR_GETTER_METHOD.matches(methodInsn)) {
+					// Logger.info("Found forGetter call " + methodInsn.getOpcode() + " (" + use.index() + ")");
+					if (methodInsn.getPrevious() instanceof InvokeDynamicInsnNode getterInvokeInsn) {
+						return getterInvokeInsn;
 					}
+
+					continue;
+				}
+
+				// Check the return type of the method is a codec
+				Type type = Type.getMethodType(methodInsn.desc);
+				Type ret = type.getReturnType();
+				if (ret.getSort() != Type.OBJECT || !this.isCodecClass(ret.getInternalName())) {
+					continue;
+				}
+
+				// Update the insn returning the codec if needed
+				// For example, `fieldOf("foo").orElse(0)` consumes the `fieldOf` result, so now we have to track the `orElse` instruction
+				boolean hasThis = methodInsn.getOpcode() != INVOKESTATIC;
+				if (hasThis && use.position() == 0) {
+					// Logger.info("Found field codec call " + methodInsn.getOpcode() + " (" + use.index() + ")");
+					next = methodInsn;
+					break;
+				}
+
+				// Otherwise the codec may have been passed as an argument, for example to a static wrapper
+				Type arg = type.getArgumentTypes()[use.position() - (hasThis ? 1 : 0)];
+				if (arg.getSort() == Type.OBJECT && this.isCodecClass(arg.getInternalName())) {
+					// Logger.info("Found field codec consuming call " + methodInsn.getOpcode() + " (" + use.index() + ")");
+					next = methodInsn;
+					break;
 				}
 			}
+
+			current = next;
 		}
+
+		return null;
 	}
 
 	private void visitGetterInvokeDynamicInsn(ClassNode parent, InvokeDynamicInsnNode insn, String name) {
@@ -225,20 +224,21 @@ public class CodecIndex extends Index {
 			return;
 		}
 
-		var parentEntry = new ClassEntry(parent.name);
+		var interner = this.getInterner();
+		var parentEntry = interner.classEntry(parent.name);
 		String camelCaseName = CasingUtil.toCamelCase(name);
 		String getterName = "get" + camelCaseName.substring(0, 1).toUpperCase() + camelCaseName.substring(1);
 
 		if (getterHandle.getTag() == H_INVOKEVIRTUAL) {
 			// Name the getter
-			var entry = new MethodEntry(parentEntry, getterHandle.getName(), new MethodDescriptor(getterHandle.getDesc()));
+			var entry = interner.method(parentEntry, getterHandle.getName(), getterHandle.getDesc());
 			this.methodNames.put(entry, getterName);
 
 			// Try to find and name the field from the getter
 			AsmUtil.getMethod(parent, getterHandle.getName(), getterHandle.getDesc())
 					.flatMap(m -> AsmUtil.getFieldFromGetter(parent, m))
 					.ifPresent(f -> {
-						var fieldEntry = new FieldEntry(parentEntry, f.name, new TypeDescriptor(f.desc));
+						var fieldEntry = interner.field(parentEntry, f.name, f.desc);
 						this.fieldNames.put(fieldEntry, camelCaseName);
 					});
 		} else if (getterHandle.getTag() == H_INVOKESTATIC) {
@@ -263,24 +263,36 @@ public class CodecIndex extends Index {
 
 			if (fieldInsn != null) {
 				// Name the field directly
-				var entry = new FieldEntry(parentEntry, fieldInsn.name, new TypeDescriptor(fieldInsn.desc));
+				var entry = interner.field(parentEntry, fieldInsn.name, fieldInsn.desc);
 				this.fieldNames.put(entry, camelCaseName);
 			} else if (methodInsn != null) {
 				// Name the getter
-				var entry = new MethodEntry(parentEntry, methodInsn.name, new MethodDescriptor(methodInsn.desc));
+				var entry = interner.method(parentEntry, methodInsn.name, methodInsn.desc);
 				this.methodNames.put(entry, getterName);
 
 				// Try to find and name the field from the getter
 				AsmUtil.getMethod(parent, methodInsn.name, methodInsn.desc)
 						.flatMap(m -> AsmUtil.getFieldFromGetter(parent, m))
 						.ifPresent(f -> {
-							var fieldEntry = new FieldEntry(parentEntry, f.name, new TypeDescriptor(f.desc));
+							var fieldEntry = interner.field(parentEntry, f.name, f.desc);
 							this.fieldNames.put(fieldEntry, camelCaseName);
 						});
 			}
 		}
 	}
 
+	@Override
+	public void onProposalEnded() {
+		this.fieldNames.clear();
+		this.methodNames.clear();
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("fieldNames", this.fieldNames)
+				.add("methodNames", this.methodNames);
+	}
+
 	public boolean hasField(FieldEntry field) {
 		return this.fieldNames.containsKey(field);
 	}
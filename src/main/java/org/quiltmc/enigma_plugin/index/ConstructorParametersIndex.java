@@ -21,12 +21,8 @@ import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.VarInsnNode;
-import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
-import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
-import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
 import org.objectweb.asm.Opcodes;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.util.Descriptors;
@@ -44,6 +40,11 @@ public class ConstructorParametersIndex extends Index {
 		super(Arguments.DISABLE_CONSTRUCTOR_PARAMS);
 	}
 
+	@Override
+	public boolean isDynamicOnly() {
+		return true;
+	}
+
 	@Override
 	public void visitClassNode(ClassNode node) {
 		for (var method : node.methods) {
@@ -54,8 +55,9 @@ public class ConstructorParametersIndex extends Index {
 	}
 
 	private void visitConstructor(ClassNode classNode, MethodNode constructorNode) {
-		var classEntry = new ClassEntry(classNode.name);
-		var methodEntry = new MethodEntry(classEntry, constructorNode.name, new MethodDescriptor(constructorNode.desc));
+		var interner = this.getInterner();
+		var classEntry = interner.classEntry(classNode.name);
+		var methodEntry = interner.method(classEntry, constructorNode.name, constructorNode.desc);
 
 		var parameters = Descriptors.getParameters(constructorNode);
 		if (parameters.isEmpty()) return;
@@ -80,8 +82,8 @@ public class ConstructorParametersIndex extends Index {
 						continue; // This load opcode does not correspond to a parameter.
 					}
 
-					var param = new LocalVariableEntry(methodEntry, loadInst.var);
-					var field = new FieldEntry(classEntry, fieldInst.name, new TypeDescriptor(fieldInst.desc));
+					var param = interner.parameter(methodEntry, loadInst.var);
+					var field = interner.field(classEntry, fieldInst.name, fieldInst.desc);
 					this.entries.put(param, field);
 					this.entriesByField.computeIfAbsent(field, f -> new HashSet<>()).add(param);
 				}
@@ -89,6 +91,19 @@ public class ConstructorParametersIndex extends Index {
 		}
 	}
 
+	@Override
+	public void addRenameEdges(RenamePropagationGraph graph) {
+		for (var entry : this.entries.entrySet()) {
+			graph.addLink(entry.getValue(), entry.getKey(), RenamePropagationGraph.Source.CONSTRUCTOR_PARAMETERS);
+		}
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("entries", this.entries)
+				.add("entriesByField", this.entriesByField);
+	}
+
 	/**
 	 * Gets the linked field of the given parameter.
 	 *
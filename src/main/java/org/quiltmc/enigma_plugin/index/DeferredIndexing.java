@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.class_provider.ClassProvider;
+import org.quiltmc.enigma_plugin.jfr.IndexClassesEvent;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds {@link Index#isDynamicOnly() dynamic-only} indexes on a background thread, from the classes loaded by the
+ * main indexing pass.
+ *
+ * <p>
+ * The background thread never uses objects owned by Enigma. The classes are copied on the indexing thread, since the
+ * class provider may cache its nodes and Enigma visits them again once the jar is indexed, and only the copies are
+ * handed over through a bounded queue. The indexes aren't given the class provider while visiting classes, and their
+ * context must be computed before the thread starts.
+ *
+ * <p>
+ * Ending the indexing, which may load classes outside the jar, is left to the thread
+ * {@link #join(RenamePropagationGraph) joining} the build. This can be any thread awaiting the indexes after the jar
+ * was indexed, such as a dynamic proposal thread: the project class provider is then shared with Enigma, which reads
+ * it from its own worker threads too, so it must be safe to use from other threads than the indexing one.
+ */
+class DeferredIndexing {
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final ClassNode END = new ClassNode();
+	private static final ClassNode ABORT = new ClassNode();
+
+	private final List<Index> indexes;
+	private final List<ClassSignature> signatures;
+	private final int[] skippedClasses;
+	private final ClassProvider classProvider;
+	private final BlockingQueue<ClassNode> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final CompletableFuture<Void> future;
+	private int classes;
+
+	/**
+	 * Starts building the given indexes, which must already have been given their context.
+	 *
+	 * @param indexes the dynamic-only indexes
+	 * @param classProvider the class provider of the project, only used by {@link #join(RenamePropagationGraph)}
+	 */
+	DeferredIndexing(List<Index> indexes, ClassProvider classProvider) {
+		this.indexes = indexes;
+		this.signatures = new ArrayList<>(indexes.size());
+		for (var index : indexes) {
+			this.signatures.add(index.getClassSignature());
+		}
+
+		this.skippedClasses = new int[indexes.size()];
+		this.classProvider = classProvider;
+		this.future = CompletableFuture.runAsync(this::run, runnable -> {
+			var thread = new Thread(runnable, "Deferred indexing");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+
+	private void run() {
+		var batchEvent = new IndexClassesEvent();
+		batchEvent.begin();
+		long start = System.nanoTime();
+
+		while (true) {
+			ClassNode node;
+			try {
+				node = this.queue.take();
+			} catch (InterruptedException e) {
+				throw new CancellationException("Interrupted while waiting for classes");
+			}
+
+			if (node == END) {
+				break;
+			} else if (node == ABORT) {
+				throw new CancellationException("The main indexing pass failed");
+			}
+
+			JarIndexer.visitClass(node, null, this.indexes, this.signatures, this.skippedClasses);
+			this.classes++;
+		}
+
+		batchEvent.end();
+		if (batchEvent.shouldCommit()) {
+			batchEvent.indexes = JarIndexer.getIndexNames(this.indexes);
+			batchEvent.classes = this.classes;
+			batchEvent.loadedClasses = this.classes;
+			batchEvent.deferred = true;
+			batchEvent.commit();
+		}
+
+		Logger.debug("Built {} dynamic-only indexes in the background in {} ms", this.indexes.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Hands a copy of a class of the main indexing pass over to the background thread, waiting if it's too far behind.
+	 * Must be called on the indexing thread, as visiting the class recreates the labels of its instructions.
+	 */
+	void accept(ClassNode node) {
+		var copy = new ClassNode();
+		node.accept(copy);
+		this.offer(copy);
+	}
+
+	/**
+	 * Lets the background thread end once it has visited every class handed over.
+	 */
+	void finish() {
+		this.offer(END);
+	}
+
+	/**
+	 * Stops the background thread, the build will then fail.
+	 */
+	void abort() {
+		this.queue.clear();
+		this.offer(ABORT);
+	}
+
+	private void offer(ClassNode node) {
+		try {
+			while (!this.queue.offer(node, 100, TimeUnit.MILLISECONDS)) {
+				if (this.future.isDone()) {
+					return; // The build failed, which is reported when joined
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while handing classes over to the deferred indexes", e);
+		}
+	}
+
+	/**
+	 * Waits for the background thread, and ends the indexing of the deferred indexes on the calling thread, which may
+	 * load classes from the project class provider.
+	 *
+	 * @param renameGraph the graph to add the links found by the indexes to
+	 * @throws RuntimeException if building the indexes failed
+	 */
+	void join(RenamePropagationGraph renameGraph) {
+		try {
+			this.future.join();
+		} catch (CompletionException | CancellationException e) {
+			var cause = e instanceof CompletionException ? e.getCause() : e;
+			throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+		}
+
+		JarIndexer.endIndexing(this.indexes, this.signatures, this.skippedClasses, this.classes, this.classProvider, renameGraph);
+	}
+
+	List<Index> getIndexes() {
+		return this.indexes;
+	}
+}
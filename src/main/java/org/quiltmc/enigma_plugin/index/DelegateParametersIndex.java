@@ -26,17 +26,16 @@ import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.analysis.Analyzer;
 import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
 import org.objectweb.asm.tree.analysis.Interpreter;
 import org.objectweb.asm.tree.analysis.Value;
 import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.class_provider.ClassProvider;
-import org.quiltmc.enigma.api.translation.mapping.EntryResolver;
-import org.quiltmc.enigma.api.translation.mapping.IndexEntryResolver;
-import org.quiltmc.enigma.api.translation.mapping.ResolutionStrategy;
 import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.util.AsmUtil;
+import org.quiltmc.enigma_plugin.util.LinearFrameSimulator;
 import org.tinylog.Logger;
 
 import java.util.HashMap;
@@ -46,19 +45,30 @@ import java.util.Map;
 import java.util.Set;
 
 public class DelegateParametersIndex extends Index {
+	private static final String[] NO_NAMES = new String[0];
+
 	private final Map<LocalVariableEntry, LocalVariableEntry> linkedParameters = new HashMap<>();
 	private final Map<LocalVariableEntry, Set<LocalVariableEntry>> parameterLinks = new HashMap<>();
 	private final Map<LocalVariableEntry, String> parameterNames = new HashMap<>();
 	private final Set<LocalVariableEntry> invalidParameters = new HashSet<>(); // Parameters used more than once
+	private final Set<LocalVariableEntry> externalParameters = new HashSet<>(); // Parameters linked to methods outside the jar
+	private final Map<MethodEntry, String[]> externalParameterNames = new HashMap<>();
+	private final LocalVariableInterpreter interpreter = new LocalVariableInterpreter();
+	private int linearMethods;
+	private int analyzedMethods;
 
 	private Set<String> classes;
-	private JarIndex jarIndex;
-	private EntryResolver entryResolver;
+	private RootMethodResolver rootMethods;
 
 	public DelegateParametersIndex() {
 		super(Arguments.DISABLE_DELEGATE_PARAMS);
 	}
 
+	@Override
+	public boolean isDynamicOnly() {
+		return true;
+	}
+
 	private static boolean isSameMethod(ClassNode owner, MethodNode node, MethodInsnNode methodInsn) {
 		return node.name.equals(methodInsn.name) && node.desc.equals(methodInsn.desc) && owner.name.equals(methodInsn.owner);
 	}
@@ -66,19 +76,18 @@ public class DelegateParametersIndex extends Index {
 	@Override
 	public void setIndexingContext(Set<String> classes, JarIndex jarIndex) {
 		this.classes = classes;
-		this.jarIndex = jarIndex;
-		this.entryResolver = new IndexEntryResolver(jarIndex);
+		this.rootMethods = new RootMethodResolver(jarIndex);
 	}
 
 	@Override
-	public void visitClassNode(ClassProvider classProvider, ClassNode node) {
+	public void visitClassNode(ClassNode node) {
 		if (node.outerClass != null) {
 			return; // Skip anonymous/local classes
 		}
 
 		for (var method : node.methods) {
 			try {
-				this.visitMethodNode(classProvider, node, method);
+				this.visitMethodNode(node, method);
 			} catch (Exception e) {
 				Logger.error(e, "Error visiting method " + method.name + method.desc + " in class " + node.name);
 				throw new RuntimeException(e);
@@ -86,22 +95,31 @@ public class DelegateParametersIndex extends Index {
 		}
 	}
 
-	public void visitMethodNode(ClassProvider classProvider, ClassNode classNode, MethodNode node) throws AnalyzerException {
+	public void visitMethodNode(ClassNode classNode, MethodNode node) throws AnalyzerException {
 		if (AsmUtil.matchAccess(node, ACC_SYNTHETIC) || AsmUtil.matchAccess(node, ACC_BRIDGE)) {
 			return;
 		}
 
 		// Only index root methods
-		var methodEntry = MethodEntry.parse(classNode.name, node.name, node.desc);
-		var resolved = this.entryResolver.resolveEntry(methodEntry, ResolutionStrategy.RESOLVE_ROOT);
-		if (resolved.size() > 1 || !resolved.contains(methodEntry)) {
+		var interner = this.getInterner();
+		var methodEntry = interner.method(classNode.name, node.name, node.desc);
+		if (!this.rootMethods.isRoot(methodEntry, AsmUtil.matchAccess(node, ACC_PRIVATE))) {
 			return;
 		}
 
 		var hasParameterInfo = node.parameters != null && !node.parameters.isEmpty();
 		var paramsByTarget = new HashMap<LocalVariableEntry, LocalVariableEntry>();
 
-		var frames = new Analyzer<>(new LocalVariableInterpreter()).analyze(classNode.name, node);
+		Frame<LocalVariableValue>[] frames;
+		if (LinearFrameSimulator.isLinear(node)) {
+			// Without control flow, the frames of the invocations can be computed in a single pass
+			frames = LinearFrameSimulator.simulate(classNode.name, node, this.interpreter, insn -> insn instanceof MethodInsnNode);
+			this.linearMethods++;
+		} else {
+			frames = new Analyzer<>(this.interpreter).analyze(classNode.name, node);
+			this.analyzedMethods++;
+		}
+
 		var instructions = node.instructions;
 
 		for (int i = 0; i < instructions.size(); i++) {
@@ -109,8 +127,12 @@ public class DelegateParametersIndex extends Index {
 
 			// Check INVOKE* instructions, excluding INVOKEDYNAMICs and recursive invocations
 			if (insn instanceof MethodInsnNode invokedMethod && !isSameMethod(classNode, node, invokedMethod)) {
-				var invokedEntry = MethodEntry.parse(invokedMethod.owner, invokedMethod.name, invokedMethod.desc);
+				var invokedEntry = interner.method(invokedMethod.owner, invokedMethod.name, invokedMethod.desc);
 				var frame = frames[i];
+				if (frame == null) {
+					continue; // Unreachable
+				}
+
 				var isStatic = invokedMethod.getOpcode() == INVOKESTATIC;
 
 				var invokedDesc = Type.getMethodType(invokedMethod.desc);
@@ -134,13 +156,13 @@ public class DelegateParametersIndex extends Index {
 						}
 
 						// Skip invalid parameters
-						var paramEntry = new LocalVariableEntry(methodEntry, value.local);
+						var paramEntry = interner.parameter(methodEntry, value.local);
 						if (this.invalidParameters.contains(paramEntry)) {
 							continue;
 						}
 
 						// If another entry was linked to the same one inside this method, remove it and skip this one
-						var targetEntry = new LocalVariableEntry(invokedEntry, local);
+						var targetEntry = interner.parameter(invokedEntry, local);
 						if (paramsByTarget.containsKey(targetEntry)) {
 							var otherParam = paramsByTarget.get(targetEntry);
 
@@ -158,29 +180,9 @@ public class DelegateParametersIndex extends Index {
 							continue;
 						}
 
-						// Try to load a variable name directly from an external class file
+						// The variable name may be loaded from an external class file once indexing has ended
 						if (!this.classes.contains(invokedMethod.owner)) {
-							var targetClass = classProvider.get(invokedMethod.owner);
-
-							if (targetClass != null) {
-								var targetMethod = AsmUtil.getMethod(targetClass, invokedMethod.name, invokedMethod.desc);
-								if (targetMethod.isEmpty() || targetMethod.get().localVariables == null) {
-									continue;
-								} else if (AsmUtil.matchAccess(targetMethod.get(), ACC_SYNTHETIC) || AsmUtil.matchAccess(targetMethod.get(), ACC_BRIDGE)) {
-									continue;
-								}
-
-								var localVariables = targetMethod.get().localVariables;
-								for (var localVar : localVariables) {
-									if (localVar.index == local) {
-										if (localVar.name != null) {
-											this.parameterNames.put(paramEntry, localVar.name);
-										}
-
-										break;
-									}
-								}
-							}
+							this.externalParameters.add(paramEntry);
 						}
 					}
 				}
@@ -188,6 +190,40 @@ public class DelegateParametersIndex extends Index {
 		}
 	}
 
+	/**
+	 * Gets the names of the local variables of a method outside the indexed classes, indexed by local.
+	 * The names are cached for the indexing run, including the ones of methods without any.
+	 */
+	private String[] getExternalParameterNames(ClassProvider classProvider, MethodEntry invokedEntry) {
+		var names = this.externalParameterNames.get(invokedEntry);
+		if (names != null) {
+			return names;
+		}
+
+		names = NO_NAMES;
+		var targetClass = classProvider.get(invokedEntry.getParent().getFullName());
+		if (targetClass != null) {
+			String desc = invokedEntry.getDesc().toString();
+			var targetMethod = AsmUtil.getMethod(targetClass, invokedEntry.getName(), desc);
+			if (targetMethod.isPresent() && targetMethod.get().localVariables != null
+					&& !AsmUtil.matchAccess(targetMethod.get(), ACC_SYNTHETIC) && !AsmUtil.matchAccess(targetMethod.get(), ACC_BRIDGE)) {
+				names = new String[Type.getArgumentsAndReturnSizes(desc) >> 2];
+				var found = new boolean[names.length];
+
+				// Only the first variable of each local is used
+				for (var localVar : targetMethod.get().localVariables) {
+					if (localVar.index < names.length && !found[localVar.index]) {
+						found[localVar.index] = true;
+						names[localVar.index] = localVar.name;
+					}
+				}
+			}
+		}
+
+		this.externalParameterNames.put(invokedEntry, names);
+		return names;
+	}
+
 	private boolean tryLink(LocalVariableEntry paramEntry, LocalVariableEntry targetEntry) {
 		if (paramEntry.equals(targetEntry)) {
 			throw new IllegalArgumentException("Can't link a parameter to itself!");
@@ -215,6 +251,7 @@ public class DelegateParametersIndex extends Index {
 
 	private void remove(LocalVariableEntry paramEntry) {
 		this.parameterNames.remove(paramEntry);
+		this.externalParameters.remove(paramEntry);
 
 		var target = this.linkedParameters.remove(paramEntry);
 		if (target != null) {
@@ -226,10 +263,22 @@ public class DelegateParametersIndex extends Index {
 	}
 
 	@Override
-	public void onIndexingEnded() {
+	public void onIndexingEnded(ClassProvider classProvider) {
+		Logger.debug("Delegate parameters: {} methods simulated linearly, {} methods analyzed", this.linearMethods, this.analyzedMethods);
+
+		// Load the variable names of the external methods now, since the classes may have been visited in the background
+		for (var paramEntry : this.externalParameters) {
+			var targetEntry = this.linkedParameters.get(paramEntry);
+			var names = this.getExternalParameterNames(classProvider, targetEntry.getParent());
+			if (targetEntry.getIndex() < names.length && names[targetEntry.getIndex()] != null) {
+				this.parameterNames.put(paramEntry, names[targetEntry.getIndex()]);
+			}
+		}
+
+		this.externalParameters.clear();
+		this.externalParameterNames.clear();
 		this.classes = null;
-		this.jarIndex = null;
-		this.entryResolver = null;
+		this.rootMethods = null;
 	}
 
 	@Override
@@ -237,6 +286,42 @@ public class DelegateParametersIndex extends Index {
 		this.linkedParameters.clear();
 		this.parameterNames.clear();
 		this.invalidParameters.clear();
+		this.externalParameters.clear();
+		this.externalParameterNames.clear();
+		this.linearMethods = 0;
+		this.analyzedMethods = 0;
+	}
+
+	@Override
+	public void addRenameEdges(RenamePropagationGraph graph) {
+		// Names go up from the invoked method parameters to the parameters delegating to them
+		for (var entry : this.linkedParameters.entrySet()) {
+			graph.addEdge(entry.getValue(), entry.getKey(), RenamePropagationGraph.Transform.SAME, RenamePropagationGraph.Source.DELEGATE_PARAMETERS);
+		}
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("linkedParameters", this.linkedParameters)
+				.add("parameterLinks", this.parameterLinks)
+				.add("parameterNames", this.parameterNames)
+				.add("invalidParameters", this.invalidParameters)
+				.add("externalParameters", this.externalParameters)
+				.add("externalParameterNames", this.externalParameterNames);
+	}
+
+	/**
+	 * {@return the number of methods of the last indexing run whose frames were simulated linearly}
+	 */
+	public int getLinearMethodCount() {
+		return this.linearMethods;
+	}
+
+	/**
+	 * {@return the number of methods of the last indexing run whose frames were computed by an analyzer}
+	 */
+	public int getAnalyzedMethodCount() {
+		return this.analyzedMethods;
 	}
 
 	public Set<LocalVariableEntry> getKeys() {
@@ -256,6 +341,21 @@ public class DelegateParametersIndex extends Index {
 	}
 
 	public record LocalVariableValue(int size, boolean parameter, int local) implements Value {
+		private static final int CACHED_LOCALS = 256;
+		// Indexed by size, void invocations create values of size 0
+		private static final LocalVariableValue[] VALUES = {new LocalVariableValue(0), new LocalVariableValue(1), new LocalVariableValue(2)};
+		// Indexed by parameter, size and local
+		private static final LocalVariableValue[][][] LOCAL_VALUES = new LocalVariableValue[2][2][CACHED_LOCALS];
+
+		static {
+			for (int size = 1; size <= 2; size++) {
+				for (int local = 0; local < CACHED_LOCALS; local++) {
+					LOCAL_VALUES[0][size - 1][local] = new LocalVariableValue(size, false, local);
+					LOCAL_VALUES[1][size - 1][local] = new LocalVariableValue(size, true, local);
+				}
+			}
+		}
+
 		public LocalVariableValue(int size) {
 			this(size, false, -1);
 		}
@@ -264,6 +364,35 @@ public class DelegateParametersIndex extends Index {
 			this(size, value.parameter, value.local);
 		}
 
+		/**
+		 * Gets a shared value that isn't a local variable.
+		 */
+		public static LocalVariableValue of(int size) {
+			return size >= 0 && size < VALUES.length ? VALUES[size] : new LocalVariableValue(size);
+		}
+
+		/**
+		 * Gets a shared value with the given size, coming from the same local variable as the given value.
+		 */
+		public static LocalVariableValue of(int size, LocalVariableValue value) {
+			return of(size, value.parameter, value.local);
+		}
+
+		/**
+		 * Gets a shared value, which is only allocated for unusual sizes or locals.
+		 */
+		public static LocalVariableValue of(int size, boolean parameter, int local) {
+			if (local == -1 && !parameter) {
+				return of(size);
+			} else if (size != 1 && size != 2) {
+				return new LocalVariableValue(size, parameter, local);
+			} else if (local >= 0 && local < CACHED_LOCALS) {
+				return LOCAL_VALUES[parameter ? 1 : 0][size - 1][local];
+			}
+
+			return new LocalVariableValue(size, parameter, local);
+		}
+
 		@Override
 		public int getSize() {
 			return this.size;
@@ -272,6 +401,7 @@ public class DelegateParametersIndex extends Index {
 
 	/**
 	 * Track values as {@link LocalVariableValue local variables}.
+	 * The values are shared, since they're only compared by equality.
 	 */
 	public static class LocalVariableInterpreter extends Interpreter<LocalVariableValue> {
 		public LocalVariableInterpreter() {
@@ -284,22 +414,22 @@ public class DelegateParametersIndex extends Index {
 				return null; // Only used in returns, must be null for void
 			}
 
-			return new LocalVariableValue(type == null ? 1 : type.getSize());
+			return LocalVariableValue.of(type == null ? 1 : type.getSize());
 		}
 
 		@Override
 		public LocalVariableValue newParameterValue(boolean isInstanceMethod, int local, Type type) {
-			return new LocalVariableValue(type.getSize(), !isInstanceMethod || local > 0, local);
+			return LocalVariableValue.of(type.getSize(), !isInstanceMethod || local > 0, local);
 		}
 
 		@Override
 		public LocalVariableValue newEmptyValue(int local) {
-			return new LocalVariableValue(1, false, local);
+			return LocalVariableValue.of(1, false, local);
 		}
 
 		@Override
 		public LocalVariableValue newOperation(AbstractInsnNode insn) {
-			return new LocalVariableValue(
+			return LocalVariableValue.of(
 					switch (insn.getOpcode()) {
 						case LCONST_0, LCONST_1, DCONST_0, DCONST_1 -> 2;
 						case LDC -> {
@@ -320,31 +450,31 @@ public class DelegateParametersIndex extends Index {
 		@Override
 		public LocalVariableValue unaryOperation(AbstractInsnNode insn, LocalVariableValue value) {
 			return switch (insn.getOpcode()) {
-				case I2L, I2D, L2D, F2D -> new LocalVariableValue(2, value); // Widening casts (automatic) should keep the variable they came from
-				case I2F, L2F -> new LocalVariableValue(1, value);
+				case I2L, I2D, L2D, F2D -> LocalVariableValue.of(2, value); // Widening casts (automatic) should keep the variable they came from
+				case I2F, L2F -> LocalVariableValue.of(1, value);
 
-				case LNEG, DNEG, F2L, D2L -> new LocalVariableValue(2);
-				case GETFIELD -> new LocalVariableValue(Type.getType(((FieldInsnNode) insn).desc).getSize());
-				default -> new LocalVariableValue(1);
+				case LNEG, DNEG, F2L, D2L -> LocalVariableValue.of(2);
+				case GETFIELD -> LocalVariableValue.of(Type.getType(((FieldInsnNode) insn).desc).getSize());
+				default -> LocalVariableValue.of(1);
 			};
 		}
 
 		@Override
 		public LocalVariableValue binaryOperation(AbstractInsnNode insn, LocalVariableValue value1, LocalVariableValue value2) {
 			return switch (insn.getOpcode()) {
-				case LALOAD, DALOAD, LADD, DADD, LSUB, DSUB, LMUL, DMUL, LDIV, DDIV, LREM, DREM, LSHL, LSHR, LUSHR, LAND, LOR, LXOR -> new LocalVariableValue(2);
-				default -> new LocalVariableValue(1);
+				case LALOAD, DALOAD, LADD, DADD, LSUB, DSUB, LMUL, DMUL, LDIV, DDIV, LREM, DREM, LSHL, LSHR, LUSHR, LAND, LOR, LXOR -> LocalVariableValue.of(2);
+				default -> LocalVariableValue.of(1);
 			};
 		}
 
 		@Override
 		public LocalVariableValue ternaryOperation(AbstractInsnNode insn, LocalVariableValue value1, LocalVariableValue value2, LocalVariableValue value3) {
-			return new LocalVariableValue(1);
+			return LocalVariableValue.of(1);
 		}
 
 		@Override
 		public LocalVariableValue naryOperation(AbstractInsnNode insn, List<? extends LocalVariableValue> values) {
-			return new LocalVariableValue(
+			return LocalVariableValue.of(
 					switch (insn.getOpcode()) {
 						case INVOKEVIRTUAL, INVOKESPECIAL, INVOKESTATIC, INVOKEINTERFACE -> Type.getReturnType(((MethodInsnNode) insn).desc).getSize();
 						case INVOKEDYNAMIC -> Type.getReturnType(((InvokeDynamicInsnNode) insn).desc).getSize();
@@ -359,7 +489,7 @@ public class DelegateParametersIndex extends Index {
 
 		@Override
 		public LocalVariableValue merge(LocalVariableValue value1, LocalVariableValue value2) {
-			return new LocalVariableValue(Math.min(value1.size, value2.size));
+			return LocalVariableValue.of(Math.min(value1.size, value2.size));
 		}
 	}
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
+import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares the entries created by the indexes during an indexing run, so that equal entries are stored only once
+ * and map lookups between indexes can hit the identity check first.
+ *
+ * <p>
+ * Owned by the {@link JarIndexer} and cleared around each run. Not thread-safe.
+ */
+public class EntryInterner {
+	private final Map<String, ClassEntry> classes = new HashMap<>();
+	private final Map<String, TypeDescriptor> typeDescriptors = new HashMap<>();
+	private final Map<String, MethodDescriptor> methodDescriptors = new HashMap<>();
+	private final Map<Entry<?>, Entry<?>> entries = new HashMap<>();
+
+	public ClassEntry classEntry(String name) {
+		return this.classes.computeIfAbsent(name, ClassEntry::new);
+	}
+
+	public TypeDescriptor typeDescriptor(String desc) {
+		return this.typeDescriptors.computeIfAbsent(desc, TypeDescriptor::new);
+	}
+
+	public MethodDescriptor methodDescriptor(String desc) {
+		return this.methodDescriptors.computeIfAbsent(desc, MethodDescriptor::new);
+	}
+
+	public FieldEntry field(ClassEntry parent, String name, String desc) {
+		return this.intern(new FieldEntry(parent, name, this.typeDescriptor(desc)));
+	}
+
+	public FieldEntry field(String owner, String name, String desc) {
+		return this.field(this.classEntry(owner), name, desc);
+	}
+
+	public MethodEntry method(ClassEntry parent, String name, String desc) {
+		return this.intern(new MethodEntry(parent, name, this.methodDescriptor(desc)));
+	}
+
+	public MethodEntry method(String owner, String name, String desc) {
+		return this.method(this.classEntry(owner), name, desc);
+	}
+
+	public LocalVariableEntry parameter(MethodEntry parent, int index) {
+		return this.intern(new LocalVariableEntry(parent, index));
+	}
+
+	/**
+	 * Gets the shared instance equal to the given entry, registering it if there's none yet.
+	 *
+	 * @param entry the entry
+	 * @return the shared entry
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends Entry<?>> E intern(E entry) {
+		if (entry instanceof ClassEntry classEntry) {
+			return (E) this.classes.computeIfAbsent(classEntry.getFullName(), k -> classEntry);
+		}
+
+		return (E) this.entries.computeIfAbsent(entry, k -> entry);
+	}
+
+	public int size() {
+		return this.classes.size() + this.entries.size();
+	}
+
+	public void clear() {
+		this.classes.clear();
+		this.typeDescriptors.clear();
+		this.methodDescriptors.clear();
+		this.entries.clear();
+	}
+}
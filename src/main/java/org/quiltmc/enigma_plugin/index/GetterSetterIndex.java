@@ -17,8 +17,6 @@
 package org.quiltmc.enigma_plugin.index;
 
 import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
-import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.Entry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
@@ -44,11 +42,16 @@ public class GetterSetterIndex extends Index {
 		super(Arguments.DISABLE_GETTER_SETTER);
 	}
 
+	@Override
+	public boolean isDynamicOnly() {
+		return true;
+	}
+
 	@Override
 	public void visitClassNode(ClassNode node) {
 		for (var method : node.methods) {
 			if (!AsmUtil.matchAccess(method, ACC_STATIC) && !AsmUtil.matchAccess(method, ACC_NATIVE)) {
-				var descriptor = new MethodDescriptor(method.desc);
+				var descriptor = this.getInterner().methodDescriptor(method.desc);
 
 				if (descriptor.getReturnDesc().equals(Descriptors.VOID_TYPE)
 						&& descriptor.getArgumentDescs().size() == 1) { // Potential setter.
@@ -75,20 +78,42 @@ public class GetterSetterIndex extends Index {
 	}
 
 	private void linkField(ClassNode classNode, MethodNode methodNode, MethodDescriptor descriptor, FieldNode fieldNode) {
-		var classEntry = new ClassEntry(classNode.name);
-		var methodEntry = new MethodEntry(classEntry, methodNode.name, descriptor);
-		var fieldEntry = new FieldEntry(classEntry, fieldNode.name, new TypeDescriptor(fieldNode.desc));
+		var interner = this.getInterner();
+		var classEntry = interner.classEntry(classNode.name);
+		var methodEntry = interner.intern(new MethodEntry(classEntry, methodNode.name, descriptor));
+		var fieldEntry = interner.field(classEntry, fieldNode.name, fieldNode.desc);
 
 		this.linked.put(methodEntry, fieldEntry);
 		this.links.computeIfAbsent(fieldEntry, f -> new HashSet<>()).add(methodEntry);
 
 		if (descriptor.getArgumentDescs().size() == 1) {
-			var paramEntry = new LocalVariableEntry(methodEntry, 1);
+			var paramEntry = interner.parameter(methodEntry, 1);
 			this.linkedSetterParams.put(paramEntry, fieldEntry);
 			this.links.get(fieldEntry).add(paramEntry);
 		}
 	}
 
+	@Override
+	public void addRenameEdges(RenamePropagationGraph graph) {
+		for (var entry : this.links.entrySet()) {
+			for (Entry<?> link : entry.getValue()) {
+				var transform = RenamePropagationGraph.Transform.SAME;
+				if (link instanceof MethodEntry method) {
+					transform = method.getDesc().getReturnDesc().equals(Descriptors.VOID_TYPE) ? RenamePropagationGraph.Transform.SETTER : RenamePropagationGraph.Transform.GETTER;
+				}
+
+				graph.addEdge(entry.getKey(), link, transform, RenamePropagationGraph.Source.GETTER_SETTER);
+			}
+		}
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("linked", this.linked)
+				.add("linkedSetterParams", this.linkedSetterParams)
+				.add("links", this.links);
+	}
+
 	public FieldEntry getLinkedField(MethodEntry method) {
 		return this.linked.get(method);
 	}
@@ -31,6 +31,7 @@ public abstract class Index implements Opcodes {
 	@Nullable
 	private final String toggleKey;
 	private boolean enabled;
+	private EntryInterner interner = new EntryInterner();
 
 	protected Index(@Nullable String toggleKey, boolean enabled) {
 		this.toggleKey = toggleKey;
@@ -57,13 +58,86 @@ public abstract class Index implements Opcodes {
 	public void visitClassNode(ClassNode node) {
 	}
 
+	/**
+	 * {@return the signature of the classes this index needs to visit, or {@code null} to visit every class}
+	 * Called once per indexing run, after the index has been given its context.
+	 */
+	@Nullable
+	public ClassSignature getClassSignature() {
+		return null;
+	}
+
+	/**
+	 * Called once every class has been visited, on the thread the indexes are awaited on.
+	 *
+	 * @param classProvider the class provider of the project, to load classes outside the jar with
+	 */
+	public void onIndexingEnded(ClassProvider classProvider) {
+		this.onIndexingEnded();
+	}
+
 	public void onIndexingEnded() {
 	}
 
+	/**
+	 * Adds the links between entries found by this index to the rename propagation graph, once indexing has ended.
+	 *
+	 * @param graph the graph shared by all indexes
+	 */
+	public void addRenameEdges(RenamePropagationGraph graph) {
+	}
+
+	/**
+	 * Called once the proposed names for the whole jar have been computed. Data only used to propose these names
+	 * can be dropped here, while data read by dynamic proposals must be kept until the next {@link #reset()}.
+	 */
+	public void onProposalEnded() {
+	}
+
 	public void reset() {
 	}
 
+	/**
+	 * Estimates the memory retained by this index, usually called once indexing has ended.
+	 *
+	 * @return the footprint of this index
+	 */
+	public IndexFootprint getFootprint() {
+		var footprint = new IndexFootprint(this.getClass().getSimpleName());
+		this.collectFootprint(footprint);
+		return footprint;
+	}
+
+	/**
+	 * Adds the internal collections of this index to the given footprint.
+	 *
+	 * @param footprint the footprint to fill
+	 */
+	protected void collectFootprint(IndexFootprint footprint) {
+	}
+
+	/**
+	 * {@return whether this index is only read by dynamic proposals}
+	 * Such indexes may be built in the background while and after the other indexes are built, and must then be awaited
+	 * with {@link JarIndexer#awaitDeferredIndexing()} before being read. In the background, classes are visited with
+	 * {@link #visitClassNode(ClassNode)} only, without any class provider.
+	 */
+	public boolean isDynamicOnly() {
+		return false;
+	}
+
 	public boolean isEnabled() {
 		return this.enabled;
 	}
+
+	/**
+	 * {@return the interner to create entries with, shared by the indexes of a {@link JarIndexer} built together}
+	 */
+	public EntryInterner getInterner() {
+		return this.interner;
+	}
+
+	void setInterner(EntryInterner interner) {
+		this.interner = interner;
+	}
 }
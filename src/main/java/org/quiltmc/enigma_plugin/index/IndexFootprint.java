@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An estimate of the memory retained by the internal collections of an {@link Index}.
+ *
+ * <p>
+ * The estimates assume a 64-bit JVM with compressed references. Entries are counted as their own object only,
+ * since their parents and descriptors are shared through the {@link EntryInterner}.
+ */
+public class IndexFootprint {
+	private static final long OBJECT_BYTES = 16;
+	private static final long ENTRY_BYTES = 32;
+	private static final long COLLECTION_BYTES = 48;
+	private static final long MAP_NODE_BYTES = 40;
+	private static final long LIST_ELEMENT_BYTES = 4;
+	private static final long INSN_BYTES = 40;
+
+	private final String index;
+	private final List<Part> parts = new ArrayList<>();
+
+	public IndexFootprint(String index) {
+		this.index = index;
+	}
+
+	public IndexFootprint add(String name, Map<?, ?> map) {
+		return this.add(name, map == null ? 0 : map.size(), estimate(map));
+	}
+
+	public IndexFootprint add(String name, Collection<?> collection) {
+		return this.add(name, collection == null ? 0 : collection.size(), estimate(collection));
+	}
+
+	public IndexFootprint add(String name, int size, long estimatedBytes) {
+		this.parts.add(new Part(name, size, estimatedBytes));
+		return this;
+	}
+
+	public String getIndex() {
+		return this.index;
+	}
+
+	public List<Part> getParts() {
+		return Collections.unmodifiableList(this.parts);
+	}
+
+	public long getEstimatedBytes() {
+		long bytes = 0;
+		for (Part part : this.parts) {
+			bytes += part.estimatedBytes();
+		}
+
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.index).append(": ~").append(formatBytes(this.getEstimatedBytes())).append('\n');
+		for (Part part : this.parts) {
+			sb.append("  ").append(this.index).append('.').append(part.name())
+					.append(": ").append(part.size()).append(" entries, ~").append(formatBytes(part.estimatedBytes())).append('\n');
+		}
+
+		return sb.toString();
+	}
+
+	public static String formatBytes(long bytes) {
+		if (bytes < 1024) {
+			return bytes + " B";
+		} else if (bytes < 1024 * 1024) {
+			return String.format("%.1f KiB", bytes / 1024.0);
+		}
+
+		return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+	}
+
+	/**
+	 * Estimates the memory retained by an object found in an index collection.
+	 *
+	 * @param object the object
+	 * @return the estimated size in bytes
+	 */
+	public static long estimate(Object object) {
+		if (object == null) {
+			return 0;
+		} else if (object instanceof Map<?, ?> map) {
+			long bytes = COLLECTION_BYTES;
+			for (var entry : map.entrySet()) {
+				bytes += MAP_NODE_BYTES + estimate(entry.getKey()) + estimate(entry.getValue());
+			}
+
+			return bytes;
+		} else if (object instanceof Collection<?> collection) {
+			long bytes = COLLECTION_BYTES;
+			long elementBytes = collection instanceof List<?> ? LIST_ELEMENT_BYTES : MAP_NODE_BYTES;
+			for (Object element : collection) {
+				bytes += elementBytes + estimate(element);
+			}
+
+			return bytes;
+		} else if (object instanceof String string) {
+			return 40 + string.length();
+		} else if (object instanceof Entry<?>) {
+			return ENTRY_BYTES;
+		} else if (object instanceof MethodNode method) {
+			return COLLECTION_BYTES * 2 + (long) method.instructions.size() * INSN_BYTES;
+		} else if (object instanceof ClassNode node) {
+			long bytes = COLLECTION_BYTES * 4;
+			for (MethodNode method : node.methods) {
+				bytes += estimate(method);
+			}
+
+			return bytes + (long) node.fields.size() * COLLECTION_BYTES;
+		}
+
+		return OBJECT_BYTES;
+	}
+
+	public record Part(String name, int size, long estimatedBytes) {
+	}
+}
@@ -16,15 +16,22 @@
 
 package org.quiltmc.enigma_plugin.index;
 
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.class_provider.ClassProvider;
 import org.quiltmc.enigma.api.class_provider.ProjectClassProvider;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
 import org.quiltmc.enigma.api.service.JarIndexerService;
+import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.QuiltEnigmaPlugin;
 import org.quiltmc.enigma_plugin.index.constant_fields.ConstantFieldIndex;
 import org.quiltmc.enigma_plugin.index.simple_type_single.SimpleTypeSingleIndex;
+import org.quiltmc.enigma_plugin.jfr.IndexClassEvent;
+import org.quiltmc.enigma_plugin.jfr.IndexClassesEvent;
+import org.quiltmc.enigma_plugin.jfr.IndexingEndedEvent;
+import org.tinylog.Logger;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,7 +40,24 @@ import java.util.List;
 import java.util.Set;
 
 public class JarIndexer implements JarIndexerService, Opcodes {
+	private static final int DEFAULT_PREFETCH_DEPTH = 64;
+	// A single thread never calls the class provider concurrently, see ClassPrefetcher
+	private static final int DEFAULT_PREFETCH_THREADS = 1;
+
 	private final HashMap<Class<? extends Index>, Index> indexes = new LinkedHashMap<>();
+	private final EntryInterner interner = new EntryInterner();
+	private final EntryInterner deferredInterner = new EntryInterner();
+	private final RenamePropagationGraph renameGraph = new RenamePropagationGraph();
+	private volatile DeferredIndexing deferredIndexing;
+	private boolean logFootprint;
+	private boolean deferIndexing = true;
+	private int prefetchDepth = DEFAULT_PREFETCH_DEPTH;
+	private int prefetchThreads = DEFAULT_PREFETCH_THREADS;
+	// The last indexed jar, to index it again if its names are proposed after the proposal data was released
+	private Set<String> scope = Set.of();
+	private ProjectClassProvider classProvider;
+	private JarIndex jarIndex;
+	private volatile boolean proposalDataReleased;
 
 	public JarIndexer() {
 		this.addIndex(new RecordIndex());
@@ -44,6 +68,7 @@ public class JarIndexer implements JarIndexerService, Opcodes {
 		this.addIndex(new SimpleTypeSingleIndex());
 		this.addIndex(new DelegateParametersIndex());
 		this.addIndex(new LoggerIndex());
+		this.addIndex(new StructureIndex());
 	}
 
 	private <T extends Index> void addIndex(T index) {
@@ -60,34 +85,292 @@ public class JarIndexer implements JarIndexerService, Opcodes {
 			index.withContext(context);
 		}
 
+		this.logFootprint = Arguments.getBoolean(context, Arguments.LOG_INDEX_FOOTPRINT);
+		this.deferIndexing = !Arguments.getBoolean(context, Arguments.DISABLE_DEFERRED_INDEXING);
+		this.prefetchDepth = Arguments.getInt(context, Arguments.CLASS_PREFETCH_DEPTH, DEFAULT_PREFETCH_DEPTH);
+		this.prefetchThreads = Arguments.getInt(context, Arguments.CLASS_PREFETCH_THREADS, DEFAULT_PREFETCH_THREADS);
+
 		return this;
 	}
 
 	@Override
 	public void acceptJar(Set<String> scope, ProjectClassProvider classProvider, JarIndex jarIndex) {
+		// A previous build may still be running in the background, and must not see the indexes being reset
+		try {
+			this.awaitDeferredIndexing();
+		} catch (RuntimeException e) {
+			Logger.error(e, "Failed to build the dynamic-only indexes of the previous jar");
+		}
+
 		List<Index> enabledIndexes = new ArrayList<>(this.indexes.size());
+		List<Index> deferredIndexes = new ArrayList<>();
+		this.interner.clear();
+		this.deferredInterner.clear();
+		this.renameGraph.clear();
+
+		// The deferred indexes keep the scope, which mustn't change while they're built in the background
+		Set<String> classes = Set.copyOf(scope);
+		this.scope = classes;
+		this.classProvider = classProvider;
+		this.jarIndex = jarIndex;
+		this.proposalDataReleased = false;
 
 		for (var index : this.indexes.values()) {
 			index.reset();
 
 			if (index.isEnabled()) {
-				enabledIndexes.add(index);
-				index.setIndexingContext(scope, jarIndex);
+				// The footprint report needs every index to be built
+				boolean deferred = index.isDynamicOnly() && this.deferIndexing && !this.logFootprint;
+
+				// Indexes built in the background can't share the interner of the other indexes
+				index.setInterner(deferred ? this.deferredInterner : this.interner);
+				index.setIndexingContext(classes, jarIndex);
+
+				if (deferred) {
+					deferredIndexes.add(index);
+				} else {
+					enabledIndexes.add(index);
+				}
+			}
+		}
+
+		var deferredIndexing = deferredIndexes.isEmpty() ? null : new DeferredIndexing(deferredIndexes, classProvider);
+		try {
+			this.indexClasses(scope, classProvider, enabledIndexes, deferredIndexing);
+		} catch (RuntimeException e) {
+			if (deferredIndexing != null) {
+				deferredIndexing.abort();
+			}
+
+			throw e;
+		}
+
+		// The indexes keep the shared entries, the lookup table is no longer needed
+		this.interner.clear();
+
+		if (deferredIndexing != null) {
+			deferredIndexing.finish();
+			this.deferredIndexing = deferredIndexing;
+		} else if (this.logFootprint) {
+			Logger.info(this.getFootprintReport());
+		}
+	}
+
+	private void indexClasses(Set<String> scope, ProjectClassProvider classProvider, List<Index> indexes, @Nullable DeferredIndexing deferredIndexing) {
+		var batchEvent = new IndexClassesEvent();
+		batchEvent.begin();
+
+		List<ClassSignature> signatures = new ArrayList<>(indexes.size());
+		for (var index : indexes) {
+			signatures.add(index.getClassSignature());
+		}
+
+		int[] skippedClasses = new int[indexes.size()];
+		try (var prefetcher = new ClassPrefetcher(classProvider, scope, this.prefetchDepth, this.prefetchThreads)) {
+			while (prefetcher.hasNext()) {
+				ClassNode node = prefetcher.next();
+				if (node == null) {
+					continue;
+				}
+
+				visitClass(node, prefetcher.getClassProvider(), indexes, signatures, skippedClasses);
+				if (deferredIndexing != null) {
+					deferredIndexing.accept(node);
+				}
 			}
+
+			batchEvent.end();
+			if (batchEvent.shouldCommit()) {
+				batchEvent.indexes = getIndexNames(indexes);
+				batchEvent.classes = scope.size();
+				batchEvent.loadedClasses = prefetcher.getLoadedClasses();
+				batchEvent.deferred = false;
+				batchEvent.commit();
+			}
+
+			Logger.debug("Loaded {} classes, waited for {} of them for {} ms", prefetcher.getLoadedClasses(),
+					prefetcher.getWaits(), prefetcher.getWaitNanos() / 1_000_000);
 		}
 
-		for (String className : scope) {
-			ClassNode node = classProvider.get(className);
-			if (node != null) {
-				for (var index : enabledIndexes) {
-					index.visitClassNode(classProvider, node);
+		endIndexing(indexes, signatures, skippedClasses, scope.size(), classProvider, this.renameGraph);
+	}
+
+	/**
+	 * Visits a class with the indexes whose signature it matches.
+	 *
+	 * @param classProvider the class provider given to the indexes, or {@code null} in the background
+	 */
+	static void visitClass(ClassNode node, @Nullable ClassProvider classProvider, List<Index> indexes, List<ClassSignature> signatures, int[] skippedClasses) {
+		var classEvent = new IndexClassEvent();
+		classEvent.begin();
+
+		var references = new ClassSignature.ReferencedClasses(node);
+		int visitingIndexes = 0;
+		for (int i = 0; i < indexes.size(); i++) {
+			var signature = signatures.get(i);
+			if (signature == null || signature.matches(node, references)) {
+				if (classProvider != null) {
+					indexes.get(i).visitClassNode(classProvider, node);
+				} else {
+					indexes.get(i).visitClassNode(node);
 				}
+
+				visitingIndexes++;
+			} else {
+				skippedClasses[i]++;
+			}
+		}
+
+		classEvent.end();
+		if (classEvent.shouldCommit()) {
+			classEvent.className = node.name;
+			classEvent.indexes = visitingIndexes;
+			classEvent.commit();
+		}
+	}
+
+	/**
+	 * Ends the indexing of the given indexes, and adds the links they found to the rename graph.
+	 */
+	static void endIndexing(List<Index> indexes, List<ClassSignature> signatures, int[] skippedClasses, int classes, ClassProvider classProvider, RenamePropagationGraph renameGraph) {
+		for (int i = 0; i < indexes.size(); i++) {
+			var index = indexes.get(i);
+			if (signatures.get(i) != null) {
+				Logger.debug("{} skipped {} of {} classes", index.getClass().getSimpleName(), skippedClasses[i], classes);
+			}
+
+			var endedEvent = new IndexingEndedEvent();
+			endedEvent.begin();
+			index.onIndexingEnded(classProvider);
+			endedEvent.end();
+
+			if (endedEvent.shouldCommit()) {
+				endedEvent.index = index.getClass().getSimpleName();
+				endedEvent.commit();
+			}
+
+			index.addRenameEdges(renameGraph);
+		}
+	}
+
+	static String getIndexNames(List<Index> indexes) {
+		List<String> indexNames = new ArrayList<>(indexes.size());
+		indexes.forEach(index -> indexNames.add(index.getClass().getSimpleName()));
+		return String.join(", ", indexNames);
+	}
+
+	/**
+	 * Waits for the {@link Index#isDynamicOnly() dynamic-only} indexes to be built, if they're being built
+	 * in the background, and ends their indexing on the calling thread.
+	 *
+	 * <p>
+	 * This may be called from any thread once the jar has been indexed. Ending the indexing may load classes outside
+	 * the jar from the project class provider, on the first calling thread, while holding the lock of this indexer.
+	 *
+	 * <p>
+	 * A failed build is only reported to the first caller. The deferred indexes are then left empty.
+	 *
+	 * @throws RuntimeException if building the indexes failed
+	 */
+	public void awaitDeferredIndexing() {
+		var deferredIndexing = this.deferredIndexing;
+		if (deferredIndexing == null) {
+			return;
+		}
+
+		synchronized (this) {
+			if (this.deferredIndexing != deferredIndexing) {
+				return; // Already awaited by another thread
+			}
+
+			try {
+				deferredIndexing.join(this.renameGraph);
+			} catch (RuntimeException e) {
+				deferredIndexing.getIndexes().forEach(Index::reset);
+				throw e;
+			} finally {
+				this.deferredInterner.clear();
+				this.deferredIndexing = null;
+			}
+		}
+	}
+
+	/**
+	 * {@return the links between the entries found by all indexes, waiting for the deferred indexes to be built}
+	 */
+	public RenamePropagationGraph getRenamePropagationGraph() {
+		this.awaitDeferredIndexing();
+		return this.renameGraph;
+	}
+
+	/**
+	 * Lets the enabled indexes release the data that was only needed to compute the proposed names of the jar.
+	 * The names can only be proposed again once the jar has been {@linkplain #ensureProposalData() indexed again}.
+	 */
+	public void onProposalEnded() {
+		for (var index : this.indexes.values()) {
+			if (index.isEnabled()) {
+				index.onProposalEnded();
 			}
 		}
 
-		for (var index : enabledIndexes) {
-			index.onIndexingEnded();
+		this.proposalDataReleased = true;
+	}
+
+	/**
+	 * {@return whether the indexes released the data needed to propose the names of the jar since it was indexed}
+	 */
+	public boolean isProposalDataReleased() {
+		return this.proposalDataReleased;
+	}
+
+	/**
+	 * Indexes the last jar again if its indexes {@linkplain #onProposalEnded() released} the data needed to propose
+	 * its names, so that they can be proposed again, for instance when Enigma reloads the mappings of the project.
+	 */
+	public void ensureProposalData() {
+		if (!this.proposalDataReleased) {
+			return;
+		}
+
+		Logger.info("Indexing the jar again, as its proposal data was released");
+		this.acceptJar(this.scope, this.classProvider, this.jarIndex);
+	}
+
+	/**
+	 * Estimates the memory retained by each enabled index.
+	 *
+	 * @return the footprints of the enabled indexes, in indexing order
+	 */
+	public List<IndexFootprint> getFootprints() {
+		this.awaitDeferredIndexing();
+
+		List<IndexFootprint> footprints = new ArrayList<>();
+		for (var index : this.indexes.values()) {
+			if (index.isEnabled()) {
+				footprints.add(index.getFootprint());
+			}
+		}
+
+		footprints.add(this.renameGraph.getFootprint());
+
+		return footprints;
+	}
+
+	public String getFootprintReport() {
+		List<IndexFootprint> footprints = this.getFootprints();
+		long total = 0;
+		for (var footprint : footprints) {
+			total += footprint.getEstimatedBytes();
 		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("Index footprint (estimated): ~").append(IndexFootprint.formatBytes(total)).append('\n');
+		for (var footprint : footprints) {
+			sb.append(footprint);
+		}
+
+		return sb.toString();
 	}
 
 	@Override
@@ -16,8 +16,6 @@
 
 package org.quiltmc.enigma_plugin.index;
 
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
-import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.objectweb.asm.tree.ClassNode;
 import org.quiltmc.enigma_plugin.Arguments;
@@ -35,14 +33,19 @@ public class LoggerIndex extends Index {
 		super(Arguments.DISABLE_LOGGER);
 	}
 
+	@Override
+	public ClassSignature getClassSignature() {
+		return ClassSignature.fieldDescriptor(LOGGER_TYPE);
+	}
+
 	@Override
 	public void visitClassNode(ClassNode node) {
-		var parentEntry = new ClassEntry(node.name);
+		var parentEntry = this.getInterner().classEntry(node.name);
 
 		for (var field : node.fields) {
 			if (AsmUtil.matchAccess(field, ACC_STATIC, ACC_FINAL)) {
 				if (field.desc.equals(LOGGER_TYPE)) {
-					var fieldEntry = new FieldEntry(parentEntry, field.name, new TypeDescriptor(field.desc));
+					var fieldEntry = this.getInterner().field(parentEntry, field.name, field.desc);
 
 					this.fields.add(fieldEntry);
 				}
@@ -50,6 +53,16 @@ public class LoggerIndex extends Index {
 		}
 	}
 
+	@Override
+	public void onProposalEnded() {
+		this.fields.clear();
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("fields", this.fields);
+	}
+
 	public boolean hasField(FieldEntry field) {
 		return this.fields.contains(field);
 	}
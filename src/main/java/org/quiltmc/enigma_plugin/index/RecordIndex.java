@@ -24,8 +24,6 @@ import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.VarInsnNode;
-import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
 import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
@@ -36,7 +34,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -51,135 +48,96 @@ public class RecordIndex extends Index {
 		super(Arguments.DISABLE_RECORDS);
 	}
 
-	private static ClassEntry getClassEntry(ClassNode node) {
-		return new ClassEntry(node.name);
+	private ClassEntry getClassEntry(ClassNode node) {
+		return this.getInterner().classEntry(node.name);
 	}
 
-	private static FieldEntry createFieldEntry(ClassEntry classEntry, Handle fieldHandle) {
+	private FieldEntry createFieldEntry(ClassEntry classEntry, Handle fieldHandle) {
 		int tag = fieldHandle.getTag();
 		if (tag == H_GETFIELD || tag == H_GETSTATIC || tag == H_PUTFIELD || tag == H_PUTSTATIC) {
 			String className = fieldHandle.getOwner();
 			if (classEntry.getFullName().equals(className)) {
 				String fieldName = fieldHandle.getName();
 				String fieldDesc = fieldHandle.getDesc();
-				return new FieldEntry(classEntry, fieldName, new TypeDescriptor(fieldDesc));
+				return this.getInterner().field(classEntry, fieldName, fieldDesc);
 			}
 		}
 
 		throw new IllegalArgumentException("Invalid field handle");
 	}
 
-	private static int findFirstALoad(InsnList instructions) {
-		ListIterator<AbstractInsnNode> iterator = instructions.iterator();
-		int i = 0;
-		while (iterator.hasNext()) {
-			AbstractInsnNode insn = iterator.next();
+	private static AbstractInsnNode findFirstALoad(InsnList instructions) {
+		for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext()) {
 			if (insn.getOpcode() == ALOAD) {
-				return i;
+				return insn;
 			}
-
-			i++;
 		}
 
-		return -1;
+		return null;
 	}
 
-	private static InvokeDynamicInsnNode getDefaultToStringInvokeDynamic(MethodNode node) {
+	/**
+	 * Matches the body generated by javac for the default {@code toString}, {@code hashCode} and {@code equals}
+	 * methods of records, that is {@code aload 0; [aload 1;] invokedynamic <name>; <return>}.
+	 *
+	 * @param node the method node
+	 * @param name the name of the invoked bootstrap method
+	 * @param handle the bootstrap method handle
+	 * @param loadsOther whether the second argument is loaded too, as in {@code equals}
+	 * @param returnOpcode the expected return opcode
+	 * @return the matched {@code invokedynamic} instruction, or {@code null} if the method isn't a default one
+	 */
+	private static InvokeDynamicInsnNode getDefaultInvokeDynamic(MethodNode node, String name, Handle handle, boolean loadsOther, int returnOpcode) {
 		if (node.access != (ACC_PUBLIC | ACC_FINAL)) {
 			return null;
 		}
 
-		InsnList instructions = node.instructions;
-		if (instructions.size() < 3) {
-			return null;
-		}
-
-		int offset = findFirstALoad(instructions);
-		if (offset == -1 || offset + 1 >= instructions.size()) {
+		AbstractInsnNode insn = findFirstALoad(node.instructions);
+		if (insn == null || ((VarInsnNode) insn).var != 0) {
 			return null;
 		}
 
-		AbstractInsnNode first = instructions.get(offset);
-		if (((VarInsnNode) first).var != 0) {
-			return null;
-		}
-
-		AbstractInsnNode second = instructions.get(offset + 1);
-		if (second.getOpcode() == INVOKEDYNAMIC) {
-			InvokeDynamicInsnNode insn = (InvokeDynamicInsnNode) second;
-			if (insn.name.equals("toString") && insn.bsm.equals(TO_STRING_HANDLE)) {
-				return instructions.get(offset + 2).getOpcode() == ARETURN ? insn : null;
+		insn = insn.getNext();
+		if (loadsOther) {
+			if (insn == null || insn.getOpcode() != ALOAD || ((VarInsnNode) insn).var != 1) {
+				return null;
 			}
-		}
-
-		return null;
-	}
 
-	private static InvokeDynamicInsnNode getDefaultHashCodeInvokeDynamic(MethodNode node) {
-		if (node.access != (ACC_PUBLIC | ACC_FINAL)) {
-			return null;
+			insn = insn.getNext();
 		}
 
-		InsnList instructions = node.instructions;
-		if (instructions.size() < 3) {
+		if (insn == null || insn.getOpcode() != INVOKEDYNAMIC) {
 			return null;
 		}
 
-		int offset = findFirstALoad(instructions);
-		if (offset == -1 || offset + 1 >= instructions.size()) {
+		InvokeDynamicInsnNode indy = (InvokeDynamicInsnNode) insn;
+		if (!indy.name.equals(name) || !indy.bsm.equals(handle)) {
 			return null;
 		}
 
-		AbstractInsnNode first = instructions.get(offset);
-		if (((VarInsnNode) first).var != 0) {
-			return null;
-		}
+		AbstractInsnNode ret = indy.getNext();
+		return ret != null && ret.getOpcode() == returnOpcode ? indy : null;
+	}
 
-		AbstractInsnNode second = instructions.get(offset + 1);
-		if (second.getOpcode() == INVOKEDYNAMIC) {
-			InvokeDynamicInsnNode insn = (InvokeDynamicInsnNode) second;
-			if (insn.name.equals("hashCode") && insn.bsm.equals(HASH_CODE_HANDLE)) {
-				return instructions.get(offset + 2).getOpcode() == IRETURN ? insn : null;
-			}
-		}
+	private static InvokeDynamicInsnNode getDefaultToStringInvokeDynamic(MethodNode node) {
+		return getDefaultInvokeDynamic(node, "toString", TO_STRING_HANDLE, false, ARETURN);
+	}
 
-		return null;
+	private static InvokeDynamicInsnNode getDefaultHashCodeInvokeDynamic(MethodNode node) {
+		return getDefaultInvokeDynamic(node, "hashCode", HASH_CODE_HANDLE, false, IRETURN);
 	}
 
 	private static InvokeDynamicInsnNode getDefaultEqualsInvokeDynamic(MethodNode node) {
-		if (node.access != (ACC_PUBLIC | ACC_FINAL)) {
-			return null;
-		}
-
-		InsnList instructions = node.instructions;
-		if (instructions.size() < 4) {
-			return null;
-		}
-
-		int offset = findFirstALoad(instructions);
-		if (offset == -1 || offset + 1 >= instructions.size()) {
-			return null;
-		}
-
-		AbstractInsnNode first = instructions.get(offset);
-		if (((VarInsnNode) first).var != 0) {
-			return null;
-		}
-
-		AbstractInsnNode second = instructions.get(offset + 1);
-		if (second.getOpcode() != ALOAD || ((VarInsnNode) second).var != 1) {
-			return null;
-		}
+		return getDefaultInvokeDynamic(node, "equals", EQUALS_HANDLE, true, IRETURN);
+	}
 
-		AbstractInsnNode third = instructions.get(offset + 2);
-		if (third.getOpcode() == INVOKEDYNAMIC) {
-			InvokeDynamicInsnNode insn = (InvokeDynamicInsnNode) third;
-			if (insn.name.equals("equals") && insn.bsm.equals(EQUALS_HANDLE)) {
-				return instructions.get(offset + 3).getOpcode() == IRETURN ? insn : null;
-			}
-		}
+	private static boolean isReturnOpcode(int opcode) {
+		return opcode == ARETURN || opcode == IRETURN || opcode == LRETURN || opcode == FRETURN || opcode == DRETURN;
+	}
 
-		return null;
+	@Override
+	public ClassSignature getClassSignature() {
+		return ClassSignature.access(ACC_RECORD).or(ClassSignature.superClass("java/lang/Record"));
 	}
 
 	@Override
@@ -188,48 +146,57 @@ public class RecordIndex extends Index {
 			return;
 		}
 
-		ClassEntry classEntry = getClassEntry(node);
-		if (this.records.containsKey(classEntry) && this.records.get(classEntry).hasComponents()) {
+		ClassEntry classEntry = this.getClassEntry(node);
+		RecordComponentData existing = this.records.get(classEntry);
+		if (existing != null && existing.hasComponents()) {
 			return;
 		}
 
-		this.records.put(classEntry, new RecordComponentData());
+		RecordComponentData data = new RecordComponentData();
+		this.records.put(classEntry, data);
 
 		for (MethodNode methodNode : node.methods) {
 			if (methodNode.name.equals("hashCode") && methodNode.desc.equals("()I")) {
-				this.visitHashCodeNode(methodNode, classEntry);
+				this.visitHashCodeNode(methodNode, classEntry, data);
 			} else if (methodNode.name.equals("toString") && methodNode.desc.equals("()Ljava/lang/String;")) {
-				this.visitToStringNode(methodNode, classEntry);
+				this.visitToStringNode(methodNode, classEntry, data);
 			} else if (methodNode.name.equals("equals") && methodNode.desc.equals("(Ljava/lang/Object;)Z")) {
-				this.visitEqualsNode(methodNode, classEntry);
+				this.visitEqualsNode(methodNode, classEntry, data);
 			} else {
-				this.visitMethodNode(methodNode, classEntry);
+				this.visitMethodNode(methodNode, classEntry, data);
 			}
 		}
+
+		data.finish();
 	}
 
-	private void visitToStringNode(MethodNode node, ClassEntry classEntry) {
+	private void visitToStringNode(MethodNode node, ClassEntry classEntry, RecordComponentData data) {
 		InvokeDynamicInsnNode invokeDynamicNode = getDefaultToStringInvokeDynamic(node);
 		if (invokeDynamicNode != null) {
-			this.computeFieldNames(classEntry, invokeDynamicNode);
+			this.computeFieldNames(classEntry, data, invokeDynamicNode);
 		}
 	}
 
-	private void visitHashCodeNode(MethodNode node, ClassEntry classEntry) {
+	private void visitHashCodeNode(MethodNode node, ClassEntry classEntry, RecordComponentData data) {
 		InvokeDynamicInsnNode invokeDynamicNode = getDefaultHashCodeInvokeDynamic(node);
 		if (invokeDynamicNode != null) {
-			this.computeFieldNames(classEntry, invokeDynamicNode);
+			this.computeFieldNames(classEntry, data, invokeDynamicNode);
 		}
 	}
 
-	private void visitEqualsNode(MethodNode node, ClassEntry classEntry) {
+	private void visitEqualsNode(MethodNode node, ClassEntry classEntry, RecordComponentData data) {
 		InvokeDynamicInsnNode invokeDynamicNode = getDefaultEqualsInvokeDynamic(node);
 		if (invokeDynamicNode != null) {
-			this.computeFieldNames(classEntry, invokeDynamicNode);
+			this.computeFieldNames(classEntry, data, invokeDynamicNode);
 		}
 	}
 
-	private void computeFieldNames(ClassEntry classEntry, InvokeDynamicInsnNode invokeDynamicNode) {
+	private void computeFieldNames(ClassEntry classEntry, RecordComponentData data, InvokeDynamicInsnNode invokeDynamicNode) {
+		if (data.hasComponents()) {
+			// The default toString, hashCode and equals methods all share the same bootstrap arguments
+			return;
+		}
+
 		Object[] bsmArgs = invokeDynamicNode.bsmArgs;
 		if (bsmArgs.length == 2) {
 			// No record components
@@ -248,74 +215,93 @@ public class RecordIndex extends Index {
 		for (int i = 0; i < unobfuscatedFieldNames.length; i++) {
 			String unobfuscatedFieldName = unobfuscatedFieldNames[i];
 			Handle fieldHandle = (Handle) bsmArgs[2 + i];
-			FieldEntry fieldEntry = createFieldEntry(classEntry, fieldHandle);
-			this.records.computeIfAbsent(classEntry, k -> new RecordComponentData()).add(fieldEntry, unobfuscatedFieldName);
+			FieldEntry fieldEntry = this.createFieldEntry(classEntry, fieldHandle);
+			data.add(fieldEntry, unobfuscatedFieldName);
 		}
 	}
 
-	private void visitMethodNode(MethodNode node, ClassEntry classEntry) {
-		// Process default accessor methods
-		MethodDescriptor methodDescriptor = new MethodDescriptor(node.desc);
-		if (!methodDescriptor.getArgumentDescs().isEmpty()) {
-			return;
-		}
-
-		InsnList instructions = node.instructions;
-		int offset = findFirstALoad(instructions);
-		if (offset == -1) {
-			return;
-		}
-
-		if (offset + 2 >= instructions.size()) {
+	private void visitMethodNode(MethodNode node, ClassEntry classEntry, RecordComponentData data) {
+		// Process default accessor methods, which take no arguments and return a value
+		String desc = node.desc;
+		if (desc.length() < 3 || desc.charAt(1) != ')' || desc.charAt(2) == 'V') {
 			return;
 		}
 
-		AbstractInsnNode first = instructions.get(offset);
-		if (((VarInsnNode) first).var != 0) {
+		AbstractInsnNode first = findFirstALoad(node.instructions);
+		if (first == null || ((VarInsnNode) first).var != 0) {
 			return;
 		}
 
-		AbstractInsnNode second = instructions.get(offset + 1);
-		if (second.getOpcode() != GETFIELD || !((FieldInsnNode) second).owner.equals(classEntry.getFullName())) {
+		AbstractInsnNode second = first.getNext();
+		if (second == null || second.getOpcode() != GETFIELD) {
 			return;
 		}
 
-		AbstractInsnNode third = instructions.get(offset + 2);
-		if (third.getOpcode() != ARETURN && third.getOpcode() != IRETURN && third.getOpcode() != LRETURN && third.getOpcode() != FRETURN && third.getOpcode() != DRETURN) {
+		AbstractInsnNode third = second.getNext();
+		if (third == null || !isReturnOpcode(third.getOpcode())) {
 			return;
 		}
 
+		// Compare the return type against the field descriptor in place, without parsing the method descriptor
 		FieldInsnNode field = (FieldInsnNode) second;
-		FieldEntry fieldEntry = new FieldEntry(classEntry, field.name, new TypeDescriptor(field.desc));
-		if (!this.records.containsKey(classEntry)) {
+		if (desc.length() != field.desc.length() + 2 || !desc.endsWith(field.desc) || !field.owner.equals(classEntry.getFullName())) {
 			return;
 		}
 
-		RecordComponentData data = this.records.get(classEntry);
-		if (fieldEntry.getDesc().equals(methodDescriptor.getReturnDesc()) && data.isComponentField(fieldEntry)) {
-			MethodEntry methodEntry = new MethodEntry(classEntry, node.name, methodDescriptor);
+		FieldEntry fieldEntry = data.getComponentField(field.name, field.desc);
+		if (fieldEntry != null) {
+			MethodEntry methodEntry = this.getInterner().method(classEntry, node.name, desc);
 			data.addAccessorMethod(fieldEntry, methodEntry);
 		}
 	}
 
+	@Override
+	public void onProposalEnded() {
+		this.records.clear();
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		int components = 0;
+		int accessors = 0;
+		long componentBytes = 0;
+		long accessorBytes = 0;
+		for (RecordComponentData data : this.records.values()) {
+			components += data.fieldNames.size();
+			accessors += data.accessorMethods.size();
+			componentBytes += IndexFootprint.estimate(data.fieldNames) + IndexFootprint.estimate(data.fieldEntries)
+					+ IndexFootprint.estimate(data.fieldDescs) + IndexFootprint.estimate(data.unobfuscatedFieldNames)
+					+ IndexFootprint.estimate(data.componentsByName);
+			accessorBytes += IndexFootprint.estimate(data.accessorMethods) + IndexFootprint.estimate(data.fieldAccessorMethods);
+		}
+
+		footprint.add("records", this.records.size(), IndexFootprint.estimate(this.records.keySet()))
+				.add("components", components, componentBytes)
+				.add("accessorMethods", accessors, accessorBytes);
+	}
+
 	public boolean isRecord(ClassEntry classEntry) {
 		return this.records.containsKey(classEntry);
 	}
 
 	public String getFieldName(ClassEntry parent, FieldEntry field) {
-		return this.records.containsKey(parent) ? this.records.get(parent).getName(field) : null;
+		RecordComponentData data = this.records.get(parent);
+		return data != null ? data.getName(field) : null;
 	}
 
 	public String getInitParamName(ClassEntry parent, int lvtIndex) {
-		return this.records.containsKey(parent) ? this.records.get(parent).getInitParamName(lvtIndex) : null;
+		RecordComponentData data = this.records.get(parent);
+		return data != null ? data.getInitParamName(lvtIndex) : null;
 	}
 
 	public String getCanonicalConstructorDescriptor(ClassEntry parent) {
-		return this.records.containsKey(parent) ? this.records.get(parent).getCanonicalConstructorDescriptor() : null;
+		RecordComponentData data = this.records.get(parent);
+		return data != null ? data.getCanonicalConstructorDescriptor() : null;
 	}
 
 	public String getAccessorMethodName(ClassEntry parent, MethodEntry method) {
-		return this.records.containsKey(parent) ? this.records.get(parent).getAccessorMethodName(method) : null;
+		RecordComponentData data = this.records.get(parent);
+		return data != null ? data.getAccessorMethodName(method) : null;
 	}
 
 	@TestOnly
@@ -366,18 +352,59 @@ public class RecordIndex extends Index {
 	static class RecordComponentData {
 		private final List<String> unobfuscatedFieldNames = new ArrayList<>();
 		private final List<FieldEntry> fieldEntries = new ArrayList<>();
+		private final List<String> fieldDescs = new ArrayList<>();
+		// Index of the first component of each field name, as obfuscated fields may share a name
+		private final Map<String, Integer> componentsByName = new HashMap<>();
+		private boolean sharedComponentNames;
 		private final Map<FieldEntry, String> fieldNames = new HashMap<>();
 		private final Map<FieldEntry, MethodEntry> accessorMethods = new HashMap<>();
 		private final Map<MethodEntry, FieldEntry> fieldAccessorMethods = new HashMap<>();
+		private String canonicalConstructorDescriptor;
+		private FieldEntry[] componentsByInitLvtIndex = new FieldEntry[0];
 
 		public void add(FieldEntry fieldEntry, String unobfuscatedFieldName) {
 			if (this.fieldNames.containsKey(fieldEntry)) {
 				return;
 			}
 
+			if (this.componentsByName.putIfAbsent(fieldEntry.getName(), this.fieldEntries.size()) != null) {
+				this.sharedComponentNames = true;
+			}
+
 			this.unobfuscatedFieldNames.add(unobfuscatedFieldName);
 			this.fieldEntries.add(fieldEntry);
+			this.fieldDescs.add(fieldEntry.getDesc().toString());
 			this.fieldNames.put(fieldEntry, unobfuscatedFieldName);
+			this.canonicalConstructorDescriptor = null;
+		}
+
+		/**
+		 * Computes the canonical constructor descriptor and the table mapping the local variable indices
+		 * of its parameters to the record components, once all the components of the record are known.
+		 */
+		public void finish() {
+			StringBuilder sb = new StringBuilder("(");
+			int size = 1;
+			for (String desc : this.fieldDescs) {
+				sb.append(desc);
+				size += getSize(desc);
+			}
+
+			sb.append(")V");
+
+			FieldEntry[] components = new FieldEntry[size];
+			int lvtIndex = 1;
+			for (int i = 0; i < this.fieldEntries.size(); i++) {
+				components[lvtIndex] = this.fieldEntries.get(i);
+				lvtIndex += getSize(this.fieldDescs.get(i));
+			}
+
+			this.canonicalConstructorDescriptor = sb.toString();
+			this.componentsByInitLvtIndex = components;
+		}
+
+		private static int getSize(String desc) {
+			return desc.equals("J") || desc.equals("D") ? 2 : 1;
 		}
 
 		public String getName(FieldEntry fieldEntry) {
@@ -385,7 +412,31 @@ public class RecordIndex extends Index {
 		}
 
 		public boolean isComponentField(FieldEntry fieldEntry) {
-			return this.fieldEntries.contains(fieldEntry);
+			return this.fieldNames.containsKey(fieldEntry);
+		}
+
+		/**
+		 * Finds a component field by its raw name and descriptor, without allocating a new entry.
+		 */
+		public FieldEntry getComponentField(String name, String desc) {
+			Integer index = this.componentsByName.get(name);
+			if (index == null) {
+				return null;
+			} else if (this.fieldDescs.get(index).equals(desc)) {
+				return this.fieldEntries.get(index);
+			} else if (!this.sharedComponentNames) {
+				return null;
+			}
+
+			// Another component with the same name may have the descriptor
+			for (int i = index + 1; i < this.fieldEntries.size(); i++) {
+				FieldEntry fieldEntry = this.fieldEntries.get(i);
+				if (fieldEntry.getName().equals(name) && this.fieldDescs.get(i).equals(desc)) {
+					return fieldEntry;
+				}
+			}
+
+			return null;
 		}
 
 		public String getInitParamName(int lvtIndex) {
@@ -393,27 +444,19 @@ public class RecordIndex extends Index {
 		}
 
 		private FieldEntry getFieldByInitLvtIndex(int lvtIndex) {
-			int i = 1;
-			for (FieldEntry fieldEntry : this.fieldEntries) {
-				if (i == lvtIndex) {
-					return fieldEntry;
-				}
-
-				i += fieldEntry.getDesc().getSize();
+			if (this.canonicalConstructorDescriptor == null) {
+				this.finish();
 			}
 
-			return null;
+			return lvtIndex >= 0 && lvtIndex < this.componentsByInitLvtIndex.length ? this.componentsByInitLvtIndex[lvtIndex] : null;
 		}
 
 		public String getCanonicalConstructorDescriptor() {
-			StringBuilder sb = new StringBuilder();
-			sb.append("(");
-			for (FieldEntry fieldEntry : this.fieldEntries) {
-				sb.append(fieldEntry.getDesc());
+			if (this.canonicalConstructorDescriptor == null) {
+				this.finish();
 			}
 
-			sb.append(")V");
-			return sb.toString();
+			return this.canonicalConstructorDescriptor;
 		}
 
 		public void addAccessorMethod(FieldEntry fieldEntry, MethodEntry accessorMethod) {
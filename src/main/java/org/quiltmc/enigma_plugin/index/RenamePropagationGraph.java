@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Links the entries whose names follow each other, as found by the indexes: a field and its getters, setters and
+ * constructor parameters, or a parameter and the parameters delegating to it.
+ *
+ * <p>
+ * The edges are added by each {@link Index#addRenameEdges(RenamePropagationGraph) index} once it's built, so that
+ * a rename can be propagated to every linked entry with a single traversal.
+ */
+public class RenamePropagationGraph {
+	/**
+	 * The maximum number of edges followed from a renamed entry.
+	 */
+	public static final int MAX_DEPTH = 15;
+
+	private final Map<Entry<?>, List<Edge>> edges = new HashMap<>();
+
+	public void addEdge(Entry<?> from, Entry<?> to, Transform transform, Source source) {
+		if (from.equals(to)) {
+			return;
+		}
+
+		this.edges.computeIfAbsent(from, e -> new ArrayList<>()).add(new Edge(to, transform, source));
+	}
+
+	/**
+	 * Adds an edge in both directions, for entries sharing the exact same name.
+	 */
+	public void addLink(Entry<?> a, Entry<?> b, Source source) {
+		this.addEdge(a, b, Transform.SAME, source);
+		this.addEdge(b, a, Transform.SAME, source);
+	}
+
+	public List<Edge> getEdges(Entry<?> from) {
+		return this.edges.getOrDefault(from, Collections.emptyList());
+	}
+
+	public boolean hasEdges(Entry<?> from) {
+		return this.edges.containsKey(from);
+	}
+
+	public int size() {
+		return this.edges.size();
+	}
+
+	public void clear() {
+		this.edges.clear();
+	}
+
+	/**
+	 * Propagates a name from an entry to the entries linked to it, breadth first. Each entry is visited at most once,
+	 * at most {@link #MAX_DEPTH} edges away from the renamed entry.
+	 *
+	 * @param from the renamed entry
+	 * @param name the new name, or {@code null} if the entry was unnamed
+	 * @param follow whether an edge should be followed
+	 * @param visitor called with the transformed name for each reached entry, and returning whether the propagation
+	 *                should continue past it
+	 */
+	public void propagate(Entry<?> from, @Nullable String name, Predicate<Edge> follow, Visitor visitor) {
+		Set<Entry<?>> visited = new HashSet<>();
+		visited.add(from);
+
+		ArrayDeque<Step> queue = new ArrayDeque<>();
+		queue.add(new Step(from, name, 0));
+
+		while (!queue.isEmpty()) {
+			Step step = queue.poll();
+			if (step.depth() >= MAX_DEPTH) {
+				continue;
+			}
+
+			for (Edge edge : this.getEdges(step.entry())) {
+				if (!follow.test(edge) || !visited.add(edge.target())) {
+					continue;
+				}
+
+				String targetName = edge.transform().apply(step.name());
+				if (visitor.visit(edge.target(), targetName, edge)) {
+					queue.add(new Step(edge.target(), targetName, step.depth() + 1));
+				}
+			}
+		}
+	}
+
+	public IndexFootprint getFootprint() {
+		return new IndexFootprint(this.getClass().getSimpleName()).add("edges", this.edges);
+	}
+
+	@FunctionalInterface
+	public interface Visitor {
+		boolean visit(Entry<?> target, @Nullable String name, Edge edge);
+	}
+
+	/**
+	 * How the name of the target of an edge is derived from the name of its origin.
+	 */
+	public enum Transform implements UnaryOperator<String> {
+		SAME(null),
+		GETTER("get"),
+		SETTER("set");
+
+		private final String prefix;
+
+		Transform(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public String apply(String name) {
+			if (this.prefix == null || name == null) {
+				return name;
+			} else if (name.isEmpty()) {
+				return null;
+			}
+
+			return this.prefix + name.substring(0, 1).toUpperCase() + name.substring(1);
+		}
+	}
+
+	/**
+	 * The index an edge comes from, which decides the proposer the propagated names are attributed to.
+	 */
+	public enum Source {
+		CONSTRUCTOR_PARAMETERS,
+		GETTER_SETTER,
+		DELEGATE_PARAMETERS
+	}
+
+	public record Edge(Entry<?> target, Transform transform, Source source) {
+	}
+
+	private record Step(Entry<?> entry, String name, int depth) {
+	}
+}
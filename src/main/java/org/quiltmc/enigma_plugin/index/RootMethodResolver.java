@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.quiltmc.enigma.api.analysis.index.jar.BridgeMethodIndex;
+import org.quiltmc.enigma.api.analysis.index.jar.EntryIndex;
+import org.quiltmc.enigma.api.analysis.index.jar.InheritanceIndex;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.translation.mapping.ResolutionStrategy;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks whether methods are their own {@link ResolutionStrategy#RESOLVE_ROOT root}, without walking the
+ * inheritance of their class for every method.
+ *
+ * <p>
+ * A non-private method is a root unless it's specialized by a bridge method of its class, or a method with the same
+ * name and descriptor is declared as non-private by one of the ancestors of its class. The signatures declared and
+ * inherited by each class are computed once, and shared by all the classes of a hierarchy.
+ *
+ * <p>
+ * Everything is read from the jar index when the resolver is created, so that it can then be used on any thread.
+ */
+public class RootMethodResolver {
+	private final Map<ClassEntry, Set<String>> declaredMethods = new HashMap<>();
+	private final Map<ClassEntry, Set<String>> inheritedMethods = new HashMap<>();
+	private final Set<MethodEntry> bridgedMethods = new HashSet<>();
+
+	public RootMethodResolver(JarIndex jarIndex) {
+		var entryIndex = jarIndex.getIndex(EntryIndex.class);
+		var inheritanceIndex = jarIndex.getIndex(InheritanceIndex.class);
+		var bridgeMethodIndex = jarIndex.getIndex(BridgeMethodIndex.class);
+
+		for (MethodEntry method : entryIndex.getMethods()) {
+			var access = entryIndex.getMethodAccess(method);
+			if (access != null && !access.isPrivate()) {
+				this.declaredMethods.computeIfAbsent(method.getParent(), c -> new HashSet<>()).add(getSignature(method));
+			}
+
+			var bridge = bridgeMethodIndex.getBridgeFromSpecialized(method);
+			if (bridge != null && bridge.getParent().equals(method.getParent())) {
+				this.bridgedMethods.add(method);
+			}
+		}
+
+		for (ClassEntry clazz : entryIndex.getClasses()) {
+			this.computeInheritedMethods(inheritanceIndex, clazz);
+		}
+	}
+
+	private static String getSignature(MethodEntry method) {
+		return method.getName() + method.getDesc();
+	}
+
+	/**
+	 * Checks whether a method of the jar is its own root.
+	 *
+	 * @param method the method
+	 * @param isPrivate whether the method is private, in which case it's never resolved further
+	 * @return whether resolving the root of the method only gives the method itself
+	 */
+	public boolean isRoot(MethodEntry method, boolean isPrivate) {
+		if (isPrivate) {
+			return true;
+		}
+
+		if (this.bridgedMethods.contains(method)) {
+			return false;
+		}
+
+		return !this.inheritedMethods.getOrDefault(method.getParent(), Collections.emptySet()).contains(getSignature(method));
+	}
+
+	/**
+	 * Computes the signatures of the non-private methods declared by the ancestors of a class.
+	 */
+	private Set<String> computeInheritedMethods(InheritanceIndex inheritanceIndex, ClassEntry clazz) {
+		var inherited = this.inheritedMethods.get(clazz);
+		if (inherited != null) {
+			return inherited;
+		}
+
+		var parents = inheritanceIndex.getParents(clazz);
+		if (parents.isEmpty()) {
+			inherited = Collections.emptySet();
+		} else if (parents.size() == 1) {
+			// Share the set of the parent when it doesn't declare anything new
+			var parent = parents.iterator().next();
+			var parentInherited = this.computeInheritedMethods(inheritanceIndex, parent);
+			var parentDeclared = this.declaredMethods.getOrDefault(parent, Collections.emptySet());
+
+			if (parentInherited.containsAll(parentDeclared)) {
+				inherited = parentInherited;
+			} else {
+				inherited = new HashSet<>(parentInherited);
+				inherited.addAll(parentDeclared);
+			}
+		} else {
+			inherited = new HashSet<>();
+			for (ClassEntry parent : parents) {
+				inherited.addAll(this.computeInheritedMethods(inheritanceIndex, parent));
+				inherited.addAll(this.declaredMethods.getOrDefault(parent, Collections.emptySet()));
+			}
+		}
+
+		this.inheritedMethods.put(clazz, inherited);
+		return inherited;
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the parts of the jar structure proposers would otherwise find by scanning the whole entry index:
+ * the {@code equals(Object)} methods, and the top-level classes.
+ */
+public class StructureIndex extends Index {
+	private static final String EQUALS_NAME = "equals";
+	private static final String EQUALS_DESCRIPTOR = "(Ljava/lang/Object;)Z";
+
+	private final Set<MethodEntry> equalsMethods = new HashSet<>();
+	private final Set<ClassEntry> topLevelClasses = new HashSet<>();
+
+	public StructureIndex() {
+		super(null);
+	}
+
+	@Override
+	public void visitClassNode(ClassNode node) {
+		var interner = this.getInterner();
+		var classEntry = interner.classEntry(node.name);
+		if (!classEntry.isInnerClass()) {
+			this.topLevelClasses.add(classEntry);
+		}
+
+		for (MethodNode method : node.methods) {
+			if (method.name.equals(EQUALS_NAME) && method.desc.equals(EQUALS_DESCRIPTOR)) {
+				this.equalsMethods.add(interner.method(classEntry, method.name, method.desc));
+			}
+		}
+	}
+
+	@Override
+	public void onProposalEnded() {
+		// Only used to propose the names of the jar
+		this.equalsMethods.clear();
+	}
+
+	@Override
+	public void reset() {
+		this.equalsMethods.clear();
+		this.topLevelClasses.clear();
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("equalsMethods", this.equalsMethods)
+				.add("topLevelClasses", this.topLevelClasses);
+	}
+
+	public Set<MethodEntry> getEqualsMethods() {
+		return this.equalsMethods;
+	}
+
+	public Set<ClassEntry> getTopLevelClasses() {
+		return this.topLevelClasses;
+	}
+}
@@ -22,6 +22,7 @@ import org.objectweb.asm.tree.MethodNode;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.index.Index;
+import org.quiltmc.enigma_plugin.index.IndexFootprint;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -67,6 +68,15 @@ public class ConstantFieldIndex extends Index {
 	@Override
 	public void onIndexingEnded() {
 		this.findFieldNames();
+
+		// Only needed to find the names
+		this.enumFields.clear();
+		this.staticInitializers.clear();
+	}
+
+	@Override
+	public void onProposalEnded() {
+		this.fieldNames = new HashMap<>();
 	}
 
 	@Override
@@ -76,6 +86,13 @@ public class ConstantFieldIndex extends Index {
 		this.fieldNames = null;
 	}
 
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("enumFields", this.enumFields)
+				.add("staticInitializers", this.staticInitializers)
+				.add("fieldNames", this.fieldNames);
+	}
+
 	public boolean hasName(FieldEntry field) {
 		return this.fieldNames.containsKey(field);
 	}
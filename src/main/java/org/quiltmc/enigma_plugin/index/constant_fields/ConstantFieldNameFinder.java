@@ -26,11 +26,11 @@ import org.objectweb.asm.tree.analysis.Analyzer;
 import org.objectweb.asm.tree.analysis.AnalyzerException;
 import org.objectweb.asm.tree.analysis.SourceInterpreter;
 import org.objectweb.asm.tree.analysis.SourceValue;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
-import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
-import org.quiltmc.enigma_plugin.util.AsmUtil;
+import org.quiltmc.enigma_plugin.index.EntryInterner;
+import org.quiltmc.enigma_plugin.jfr.ConstantFieldNamesEvent;
 import org.quiltmc.enigma_plugin.util.CasingUtil;
+import org.quiltmc.enigma_plugin.util.StackSearchContext;
 import org.tinylog.Logger;
 
 import java.util.Collections;
@@ -44,6 +44,7 @@ public class ConstantFieldNameFinder implements Opcodes {
 	private final HashMap<String, Set<String>> usedNamesByClass = new HashMap<>();
 	private final HashMap<String, Set<String>> duplicatedNamesByClass = new HashMap<>();
 	private final HashMap<FieldEntry, FieldEntry> linkedFields = new HashMap<>();
+	private EntryInterner interner;
 
 	private static boolean isClassPutStatic(String owner, AbstractInsnNode insn) {
 		return insn.getOpcode() == PUTSTATIC && ((FieldInsnNode) insn).owner.equals(owner);
@@ -85,8 +86,8 @@ public class ConstantFieldNameFinder implements Opcodes {
 		return name;
 	}
 
-	private static FieldEntry fieldFromInsn(FieldInsnNode insn) {
-		return new FieldEntry(new ClassEntry(insn.owner), insn.name, new TypeDescriptor(insn.desc));
+	private FieldEntry fieldFromInsn(FieldInsnNode insn) {
+		return this.interner.field(insn.owner, insn.name, insn.desc);
 	}
 
 	private FieldEntry followFieldLink(FieldEntry field, Map<FieldEntry, String> names) {
@@ -106,7 +107,10 @@ public class ConstantFieldNameFinder implements Opcodes {
 	}
 
 	public Map<FieldEntry, String> findNames(ConstantFieldIndex fieldIndex) throws Exception {
+		var event = new ConstantFieldNamesEvent();
+		event.begin();
 		this.clear();
+		this.interner = fieldIndex.getInterner();
 
 		Analyzer<SourceValue> analyzer = new Analyzer<>(new SourceInterpreter());
 		Map<FieldEntry, String> fieldNames = new HashMap<>();
@@ -141,6 +145,13 @@ public class ConstantFieldNameFinder implements Opcodes {
 			}
 		}
 
+		event.end();
+		if (event.shouldCommit()) {
+			event.classes = fieldIndex.getStaticInitializers().size();
+			event.fieldNames = fieldNames.size();
+			event.commit();
+		}
+
 		return fieldNames;
 	}
 
@@ -151,6 +162,7 @@ public class ConstantFieldNameFinder implements Opcodes {
 		for (var initializer : initializers) {
 			var frames = analyzer.analyze(clazz, initializer);
 			var instructions = initializer.instructions;
+			var stackSearch = new StackSearchContext(instructions, frames);
 
 			for (int i = 1; i < instructions.size(); i++) {
 				var insn = instructions.get(i);
@@ -175,15 +187,15 @@ public class ConstantFieldNameFinder implements Opcodes {
 				}
 
 				// Search for a name within the frame for the invocation instruction
-				String name = AsmUtil.searchStringCstInStack(instructions, invokeInsn, frames);
+				String name = stackSearch.searchStringCst(invokeInsn);
 
-				FieldEntry fieldEntry = fieldFromInsn(putStatic);
+				FieldEntry fieldEntry = this.fieldFromInsn(putStatic);
 				if (name == null) {
 					// If we couldn't find a name, try to link this field to one from another class instead
-					FieldInsnNode otherFieldInsn = AsmUtil.searchStaticFieldReferenceInStack(instructions, invokeInsn, frames, clazz);
+					FieldInsnNode otherFieldInsn = stackSearch.searchStaticFieldReference(invokeInsn, clazz);
 
 					if (otherFieldInsn != null) {
-						this.linkedFields.put(fieldEntry, fieldFromInsn(otherFieldInsn));
+						this.linkedFields.put(fieldEntry, this.fieldFromInsn(otherFieldInsn));
 					}
 
 					continue; // Done with the current putStatic
@@ -21,8 +21,6 @@ import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.class_provider.ClassProvider;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
 import org.quiltmc.enigma.api.service.JarIndexerService;
-import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
-import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
 import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
@@ -36,6 +34,7 @@ import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.ParameterNode;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.index.Index;
+import org.quiltmc.enigma_plugin.index.IndexFootprint;
 import org.quiltmc.enigma_plugin.index.simple_type_single.SimpleTypeFieldNamesRegistry.Name;
 import org.quiltmc.enigma_plugin.util.AsmUtil;
 import org.quiltmc.enigma_plugin.util.Descriptors;
@@ -97,6 +96,22 @@ public class SimpleTypeSingleIndex extends Index {
 		this.fieldCache.clear();
 	}
 
+	@Override
+	public void onProposalEnded() {
+		// The fallbacks are still used to fix conflicts in dynamic proposals
+		this.parameters.clear();
+		this.fields.clear();
+		this.dropCache();
+	}
+
+	@Override
+	protected void collectFootprint(IndexFootprint footprint) {
+		footprint.add("parameters", this.parameters)
+				.add("parameterFallbacks", this.parameterFallbacks)
+				.add("fields", this.fields)
+				.add("fieldCache", this.fieldCache);
+	}
+
 	public @Nullable String getField(FieldEntry fieldEntry) {
 		return this.fields.get(fieldEntry);
 	}
@@ -139,11 +154,12 @@ public class SimpleTypeSingleIndex extends Index {
 	public void visitClassNode(ClassProvider provider, ClassNode node) {
 		if (!this.isEnabled()) return;
 
-		var parentEntry = new ClassEntry(node.name);
+		var interner = this.getInterner();
+		var parentEntry = interner.classEntry(node.name);
 
 		this.collectMatchingFields(provider, node).forEach((name, entry) -> {
 			if (!entry.isNull()) {
-				var fieldEntry = new FieldEntry(parentEntry, entry.node().name, new TypeDescriptor(entry.node().desc));
+				var fieldEntry = interner.field(parentEntry, entry.node().name, entry.node().desc);
 				this.fields.put(fieldEntry,
 						AsmUtil.matchAccess(entry.node(), ACC_STATIC, ACC_FINAL)
 								? entry.name().staticName()
@@ -155,8 +171,7 @@ public class SimpleTypeSingleIndex extends Index {
 		for (var method : node.methods) {
 			if (method.parameters == null) continue;
 
-			var methodDescriptor = new MethodDescriptor(method.desc);
-			var methodEntry = new MethodEntry(parentEntry, method.name, methodDescriptor);
+			var methodEntry = interner.method(parentEntry, method.name, method.desc);
 			var parameters = Descriptors.getParameters(method);
 
 			// Count the times a type is used in the descriptor
@@ -182,7 +197,7 @@ public class SimpleTypeSingleIndex extends Index {
 				if (!param.isNull()) {
 					boolean isStatic = AsmUtil.maskMatch(method.access, ACC_STATIC);
 					int index = param.index() + (isStatic ? 0 : 1);
-					var paramEntry = new LocalVariableEntry(methodEntry, index);
+					var paramEntry = interner.parameter(methodEntry, index);
 					this.parameters.put(paramEntry, name);
 					this.parameterFallbacks.put(paramEntry, param.entry.fallback().stream().map(Name::local).toList());
 				}
@@ -322,7 +337,7 @@ public class SimpleTypeSingleIndex extends Index {
 		}
 
 		// Check all parent classes for an entry. This goes in order of super/interface, supersuper/interfacesuper, etc
-		for (ClassEntry ancestor : this.inheritance.getAncestors(new ClassEntry(type))) {
+		for (ClassEntry ancestor : this.inheritance.getAncestors(this.getInterner().classEntry(type))) {
 			entry = this.registry.getEntry(ancestor.getFullName());
 
 			// Only return if the entry allows inheritance
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when names are proposed in reaction to renames.
+ */
+@Name("org.quiltmc.enigma_plugin.DynamicProposal")
+@Label("Dynamic Proposal")
+@Description("Names proposed in reaction to one or more renames")
+@Category({"Quilt Enigma Plugin", "Proposal"})
+@StackTrace(false)
+public class DynamicProposalEvent extends Event {
+	@Label("Entry")
+	@Description("The last renamed entry, or null when mappings are loaded")
+	public String entry;
+
+	@Label("Renames")
+	public int renames;
+
+	@Label("Proposals")
+	public int proposals;
+}
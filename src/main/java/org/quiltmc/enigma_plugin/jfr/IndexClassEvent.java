@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted when a class is visited by the indexes, only recorded for slow classes by default.
+ */
+@Name("org.quiltmc.enigma_plugin.IndexClass")
+@Label("Index Class")
+@Description("A class visited by the indexes of the plugin")
+@Category({"Quilt Enigma Plugin", "Indexing"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class IndexClassEvent extends Event {
+	@Label("Class")
+	public String className;
+
+	@Label("Indexes")
+	@Description("The number of indexes which visited the class")
+	public int indexes;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when a set of indexes has visited all the classes of a jar.
+ */
+@Name("org.quiltmc.enigma_plugin.IndexClasses")
+@Label("Index Classes")
+@Description("The classes of a jar visited by a set of indexes")
+@Category({"Quilt Enigma Plugin", "Indexing"})
+@StackTrace(false)
+public class IndexClassesEvent extends Event {
+	@Label("Indexes")
+	public String indexes;
+
+	@Label("Classes")
+	@Description("The number of classes in the scope of the jar")
+	public int classes;
+
+	@Label("Loaded Classes")
+	public int loadedClasses;
+
+	@Label("Deferred")
+	@Description("Whether the indexes were built in the background")
+	public boolean deferred;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when an index has finished processing the data collected from the classes.
+ */
+@Name("org.quiltmc.enigma_plugin.IndexingEnded")
+@Label("Indexing Ended")
+@Description("An index processing the data collected from the classes")
+@Category({"Quilt Enigma Plugin", "Indexing"})
+@StackTrace(false)
+public class IndexingEndedEvent extends Event {
+	@Label("Index")
+	public String index;
+}
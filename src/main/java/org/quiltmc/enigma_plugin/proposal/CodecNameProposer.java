@@ -36,6 +36,11 @@ public class CodecNameProposer extends NameProposer {
 		this.index = index.getIndex(CodecIndex.class);
 	}
 
+	@Override
+	public boolean canProposeConcurrently() {
+		return true;
+	}
+
 	@Override
 	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
 		for (FieldEntry field : this.index.getFields()) {
@@ -94,6 +94,8 @@ public class ConflictFixProposer extends NameProposer {
 				String remappedName = arg.getName();
 				if (mappings.containsKey(arg)) {
 					remappedName = mappings.get(arg) == null ? null : mappings.get(arg).targetName();
+				} else if (this.hasPendingMapping(arg)) {
+					remappedName = this.getMapping(remapper, arg).targetName();
 				}
 
 				if (arg.getIndex() != entry.getIndex() && name != null && name.equals(remappedName)) {
@@ -35,6 +35,11 @@ public class ConstantFieldNameProposer extends NameProposer {
 		this.fieldIndex = index.getIndex(ConstantFieldIndex.class);
 	}
 
+	@Override
+	public boolean canProposeConcurrently() {
+		return true;
+	}
+
 	@Override
 	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
 		for (FieldEntry field : this.fieldIndex.getFields()) {
@@ -44,31 +44,8 @@ public class ConstructorParamsNameProposer extends NameProposer {
 
 	@Override
 	public void proposeDynamicNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping, Map<Entry<?>, EntryMapping> mappings) {
-		if (obfEntry instanceof FieldEntry field && this.index.isFieldLinked(field)) {
-			for (LocalVariableEntry parameter : this.index.getParametersForField(field)) {
-				if (this.hasJarProposal(remapper, parameter)) {
-					continue;
-				}
-
-				this.insertDynamicProposal(mappings, parameter, this.mappingOrNonHashed(parameter, newMapping, TokenType.DYNAMIC_PROPOSED));
-			}
-		} else if (obfEntry instanceof LocalVariableEntry parameter && this.index.isParameterLinked(parameter)) {
-			FieldEntry linkedField = this.index.getLinkedField(parameter);
-
-			if (!this.hasJarProposal(remapper, linkedField)) {
-				this.insertDynamicProposal(mappings, linkedField, this.mappingOrNonHashed(linkedField, newMapping, TokenType.DYNAMIC_PROPOSED));
-			}
-
-			for (LocalVariableEntry param : this.index.getParametersForField(linkedField)) {
-				if (this.hasJarProposal(remapper, param)) {
-					continue;
-				}
-
-				if (param != parameter) {
-					this.insertDynamicProposal(mappings, param, this.mappingOrNonHashed(param, newMapping, TokenType.DYNAMIC_PROPOSED));
-				}
-			}
-		} else if (obfEntry == null) {
+		// Renamed fields and parameters are propagated by the RenamePropagationProposer
+		if (obfEntry == null) {
 			// Mappings were just loaded
 			for (LocalVariableEntry parameter : this.index.getParameters()) {
 				if (this.hasJarProposal(remapper, parameter)) {
@@ -16,19 +16,34 @@
 
 package org.quiltmc.enigma_plugin.proposal;
 
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
 import org.quiltmc.enigma.api.service.NameProposalService;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.QuiltEnigmaPlugin;
 import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.RenamePropagationGraph;
 import org.quiltmc.enigma_plugin.index.simple_type_single.SimpleTypeSingleIndex;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 public class DefaultProposalService extends NameProposerService {
+	private final JarIndexer indexer;
+
 	public DefaultProposalService(JarIndexer indexer, EnigmaServiceContext<NameProposalService> context) {
 		super();
+		this.indexer = indexer;
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_RECORDS, RecordComponentNameProposer::new);
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_CONSTANT_FIELDS, ConstantFieldNameProposer::new);
-		this.addIfEnabled(context, Arguments.DISABLE_EQUALS, EqualsNameProposer::new);
+		this.addIfEnabled(context, indexer, Arguments.DISABLE_EQUALS, EqualsNameProposer::new);
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_LOGGER, LoggerNameProposer::new);
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_CODECS, CodecNameProposer::new);
 
@@ -36,6 +51,15 @@ public class DefaultProposalService extends NameProposerService {
 			this.add(indexer, SimpleTypeFieldNameProposer::new);
 		}
 
+		// Renames are propagated before the proposers reacting to them separately, only along the edges of enabled proposers
+		Set<RenamePropagationGraph.Source> sources = EnumSet.noneOf(RenamePropagationGraph.Source.class);
+		addSourceIfEnabled(context, Arguments.DISABLE_CONSTRUCTOR_PARAMS, RenamePropagationGraph.Source.CONSTRUCTOR_PARAMETERS, sources);
+		addSourceIfEnabled(context, Arguments.DISABLE_GETTER_SETTER, RenamePropagationGraph.Source.GETTER_SETTER, sources);
+		addSourceIfEnabled(context, Arguments.DISABLE_DELEGATE_PARAMS, RenamePropagationGraph.Source.DELEGATE_PARAMETERS, sources);
+		if (!sources.isEmpty()) {
+			this.add(indexer, jarIndexer -> new RenamePropagationProposer(jarIndexer, sources));
+		}
+
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_CONSTRUCTOR_PARAMS, ConstructorParamsNameProposer::new);
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_GETTER_SETTER, GetterSetterNameProposer::new);
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_DELEGATE_PARAMS, DelegateParametersNameProposer::new);
@@ -44,6 +68,40 @@ public class DefaultProposalService extends NameProposerService {
 		this.addIfEnabled(context, indexer, Arguments.DISABLE_CONFLICT_FIXER, ConflictFixProposer::new);
 	}
 
+	private static void addSourceIfEnabled(EnigmaServiceContext<NameProposalService> context, String name, RenamePropagationGraph.Source source, Set<RenamePropagationGraph.Source> sources) {
+		if (!Arguments.getBoolean(context, name)) {
+			sources.add(source);
+		}
+	}
+
+	@Override
+	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> proposedNames) {
+		// The data released after the previous proposal is needed again
+		this.indexer.ensureProposalData();
+		super.insertProposedNames(enigma, index, proposedNames);
+		this.indexer.onProposalEnded();
+	}
+
+	@Override
+	public Map<Entry<?>, EntryMapping> getDynamicProposedNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping) {
+		// Dynamic proposers read indexes that may still be built in the background
+		this.indexer.awaitDeferredIndexing();
+		return super.getDynamicProposedNames(remapper, obfEntry, oldMapping, newMapping);
+	}
+
+	@Override
+	public Map<Entry<?>, EntryMapping> getDynamicProposedNames(EntryRemapper remapper, Collection<Rename> renames) {
+		this.indexer.awaitDeferredIndexing();
+		return super.getDynamicProposedNames(remapper, renames);
+	}
+
+	@Override
+	public DynamicProposalQueue createDynamicProposalQueue(EntryRemapper remapper, Object remapperLock, Consumer<Map<Entry<?>, EntryMapping>> publisher) {
+		// Ends the deferred indexing on the calling thread, as it may use the class provider
+		this.indexer.awaitDeferredIndexing();
+		return super.createDynamicProposalQueue(remapper, remapperLock, publisher);
+	}
+
 	@Override
 	public String getId() {
 		return QuiltEnigmaPlugin.NAME_PROPOSAL_SERVICE_ID;
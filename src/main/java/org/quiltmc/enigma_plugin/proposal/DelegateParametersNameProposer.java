@@ -65,7 +65,7 @@ public class DelegateParametersNameProposer extends NameProposer {
 			return name;
 		}
 
-		var mapping = remapper.getMapping(entry);
+		var mapping = this.getMapping(remapper, entry);
 		if (mapping.targetName() != null && shouldNotIgnoreMapping(mapping)) {
 			return mapping.targetName();
 		} else {
@@ -132,18 +132,10 @@ public class DelegateParametersNameProposer extends NameProposer {
 					this.insertDynamicProposal(mappings, parameterNames.get(name), name);
 				}
 			}
-		} else if (obfEntry instanceof LocalVariableEntry paramEntry) {
-			String name;
-			if (newMapping.targetName() != null) {
-				name = newMapping.targetName();
-			} else {
-				name = this.resolveName(remapper, mappings, paramEntry);
-			}
-
-			if (newMapping.targetName() == null) {
-				this.insertDynamicProposal(mappings, paramEntry, name);
-			}
-
+		} else if (obfEntry instanceof LocalVariableEntry paramEntry && newMapping.targetName() == null) {
+			// Named parameters are propagated by the RenamePropagationProposer, unnamed ones take the name of their delegate
+			String name = this.resolveName(remapper, mappings, paramEntry);
+			this.insertDynamicProposal(mappings, paramEntry, name);
 			this.proposeNameUpwards(remapper, mappings, paramEntry, name);
 		}
 	}
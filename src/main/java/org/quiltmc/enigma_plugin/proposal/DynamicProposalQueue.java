@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.proposal.NameProposerService.Rename;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Computes dynamic proposals for renames in the background, instead of on the thread performing the renames.
+ *
+ * <p>
+ * Renames submitted while the previous ones are being processed are queued, and renames of the same entry are
+ * coalesced into one, keeping the first old mapping and the last new mapping. The queued renames are then processed
+ * together in submission order through {@link NameProposerService#getDynamicProposedNames(EntryRemapper, java.util.Collection)},
+ * and the resulting proposals are published in a single batch. Batches are published in order, by a single thread.
+ *
+ * <p>
+ * The proposers read the remapper from the background thread, so it's guarded by a lock supplied by the host:
+ * each batch is drained and processed while holding it, and its proposals are published before releasing it.
+ * The host must hold the same lock while changing the remapper, including when applying published proposals
+ * from another thread, and submit each rename once it has been applied, so that a batch always sees the renames
+ * it processes and the proposals of the previous batches. Renames coalesced into one skip the names in between.
+ *
+ * <p>
+ * While a queue is in use, it must be the only way dynamic proposals are requested from its service,
+ * as the proposers aren't thread-safe.
+ */
+public class DynamicProposalQueue implements AutoCloseable {
+	private final NameProposerService service;
+	private final EntryRemapper remapper;
+	private final Object remapperLock;
+	private final Consumer<Map<Entry<?>, EntryMapping>> publisher;
+	private final ExecutorService executor;
+	private final Map<Entry<?>, Rename> pending = new LinkedHashMap<>();
+	private boolean scheduled;
+	private int submittedRenames;
+	private int coalescedRenames;
+	private int publishedBatches;
+
+	/**
+	 * Creates a queue.
+	 *
+	 * @param service the service computing the proposals
+	 * @param remapper the remapper the renames are applied to
+	 * @param remapperLock the lock guarding the remapper
+	 * @param publisher receives each batch of proposals, on the background thread and while holding the lock
+	 */
+	public DynamicProposalQueue(NameProposerService service, EntryRemapper remapper, Object remapperLock, Consumer<Map<Entry<?>, EntryMapping>> publisher) {
+		this.service = service;
+		this.remapper = remapper;
+		this.remapperLock = remapperLock;
+		this.publisher = publisher;
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			var thread = new Thread(runnable, "Dynamic proposals");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Queues a rename, with the same arguments as {@link NameProposerService#getDynamicProposedNames(EntryRemapper, Entry, EntryMapping, EntryMapping)}.
+	 */
+	public void submit(Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping) {
+		synchronized (this.pending) {
+			this.submittedRenames++;
+
+			// Move the entry to the end, so that its last rename is processed after the renames submitted before it
+			var previous = this.pending.remove(obfEntry);
+			if (previous != null) {
+				oldMapping = previous.oldMapping();
+				this.coalescedRenames++;
+			}
+
+			this.pending.put(obfEntry, new Rename(obfEntry, oldMapping, newMapping));
+
+			if (!this.scheduled) {
+				this.scheduled = true;
+				this.executor.execute(this::processPending);
+			}
+		}
+	}
+
+	private void processPending() {
+		synchronized (this.remapperLock) {
+			List<Rename> renames;
+			synchronized (this.pending) {
+				renames = new ArrayList<>(this.pending.values());
+				this.pending.clear();
+				this.scheduled = false;
+			}
+
+			Map<Entry<?>, EntryMapping> proposedNames;
+			try {
+				proposedNames = this.service.getDynamicProposedNames(this.remapper, renames);
+			} catch (RuntimeException e) {
+				Logger.error(e, "Failed to propose names for {} renames", renames.size());
+				return;
+			}
+
+			if (!proposedNames.isEmpty()) {
+				this.publishedBatches++;
+				this.publisher.accept(proposedNames);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the renames submitted so far to be processed, and their proposals to be published.
+	 * Mustn't be called while holding the lock guarding the remapper.
+	 */
+	public void flush() {
+		try {
+			this.executor.submit(() -> { }).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * {@return the number of renames submitted so far}
+	 */
+	public int getSubmittedRenames() {
+		synchronized (this.pending) {
+			return this.submittedRenames;
+		}
+	}
+
+	/**
+	 * {@return the number of renames merged into a previous rename of the same entry}
+	 */
+	public int getCoalescedRenames() {
+		synchronized (this.pending) {
+			return this.coalescedRenames;
+		}
+	}
+
+	/**
+	 * {@return the number of batches published so far, only accurate after a {@link #flush()}}
+	 */
+	public int getPublishedBatches() {
+		return this.publishedBatches;
+	}
+
+	/**
+	 * Stops processing renames, dropping the ones not yet processed.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdownNow();
+	}
+}
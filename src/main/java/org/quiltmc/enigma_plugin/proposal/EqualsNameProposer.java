@@ -17,34 +17,35 @@
 package org.quiltmc.enigma_plugin.proposal;
 
 import org.quiltmc.enigma.api.Enigma;
-import org.quiltmc.enigma.api.analysis.index.jar.EntryIndex;
 import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
-import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
 import org.quiltmc.enigma.api.translation.representation.entry.Entry;
 import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.StructureIndex;
 
 import java.util.Map;
 
 public class EqualsNameProposer extends NameProposer {
 	public static final String ID = "equals";
-	private static final MethodDescriptor EQUALS_DESCRIPTOR = new MethodDescriptor("(Ljava/lang/Object;)Z");
+	private final StructureIndex index;
 
-	public EqualsNameProposer() {
+	public EqualsNameProposer(JarIndexer index) {
 		super(ID);
+		this.index = index.getIndex(StructureIndex.class);
 	}
 
 	@Override
-	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
-		EntryIndex entryIndex = index.getIndex(EntryIndex.class);
+	public boolean canProposeConcurrently() {
+		return true;
+	}
 
-		for (MethodEntry method : entryIndex.getMethods()) {
-			String methodName = method.getName();
-			if (methodName.equals("equals") && method.getDesc().equals(EQUALS_DESCRIPTOR)) {
-				LocalVariableEntry param = new LocalVariableEntry(method, 1);
-				this.insertProposal(mappings, param, "o");
-			}
+	@Override
+	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
+		for (MethodEntry method : this.index.getEqualsMethods()) {
+			LocalVariableEntry param = new LocalVariableEntry(method, 1);
+			this.insertProposal(mappings, param, "o");
 		}
 	}
 }
@@ -60,6 +60,7 @@ public class GetterSetterNameProposer extends NameProposer {
 
 	@Override
 	public void proposeDynamicNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping, Map<Entry<?>, EntryMapping> mappings) {
+		// Renamed fields are propagated to their getters and setters by the RenamePropagationProposer
 		if (obfEntry == null) {
 			// Mappings were just loaded
 			for (MethodEntry method : this.index.getLinkedMethods()) {
@@ -93,21 +94,6 @@ public class GetterSetterNameProposer extends NameProposer {
 
 				this.insertDynamicProposal(mappings, parameter, newName);
 			}
-		} else if (obfEntry instanceof FieldEntry field && this.index.fieldHasLinks(field)) {
-			var name = this.mappingOrNonHashed(field, newMapping, TokenType.DYNAMIC_PROPOSED).targetName();
-
-			for (Entry<?> link : this.index.getFieldLinks(field)) {
-				if (this.hasJarProposal(remapper, link)) {
-					continue;
-				}
-
-				if (link instanceof MethodEntry method) {
-					var newName = getMethodName(name, method);
-					this.insertDynamicProposal(mappings, method, newName);
-				} else if (link instanceof LocalVariableEntry parameter) {
-					this.insertDynamicProposal(mappings, parameter, name);
-				}
-			}
 		}
 	}
 }
@@ -38,6 +38,11 @@ public class LoggerNameProposer extends NameProposer {
 		this.index = index.getIndex(LoggerIndex.class);
 	}
 
+	@Override
+	public boolean canProposeConcurrently() {
+		return true;
+	}
+
 	@Override
 	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
 		for (FieldEntry field : this.index.getFields()) {
@@ -21,7 +21,6 @@ import com.google.gson.GsonBuilder;
 import org.jetbrains.annotations.Nullable;
 import org.quiltmc.enigma.api.Enigma;
 import org.quiltmc.enigma.api.ProgressListener;
-import org.quiltmc.enigma.api.analysis.index.jar.EntryIndex;
 import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.analysis.index.mapping.MappingsIndex;
 import org.quiltmc.enigma.api.analysis.index.mapping.PackageIndex;
@@ -31,6 +30,8 @@ import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
 import org.quiltmc.enigma.api.translation.mapping.tree.EntryTree;
 import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.StructureIndex;
 import org.tinylog.Logger;
 
 import java.io.FileNotFoundException;
@@ -98,11 +99,13 @@ import java.util.function.Function;
  */
 public class MappingMergePackageProposer extends NameProposer {
 	public static final String ID = "merge_packages";
+	private final StructureIndex index;
 	private final String packageNameOverridesPath;
 	private PackageEntryList packageOverrides;
 
-	public MappingMergePackageProposer(@Nullable String packageNameOverridesPath) {
+	public MappingMergePackageProposer(JarIndexer index, @Nullable String packageNameOverridesPath) {
 		super(ID);
+		this.index = index.getIndex(StructureIndex.class);
 		this.packageNameOverridesPath = packageNameOverridesPath;
 	}
 
@@ -127,8 +130,7 @@ public class MappingMergePackageProposer extends NameProposer {
 
 			if (obfEntry == null) {
 				// rename all classes as per overrides
-				var classes = remapper.getJarIndex().getIndex(EntryIndex.class).getClasses();
-				for (ClassEntry classEntry : classes) {
+				for (ClassEntry classEntry : this.index.getTopLevelClasses()) {
 					this.proposePackageName(classEntry, null, null, mappings, mergedMappings);
 				}
 			} else if (obfEntry instanceof ClassEntry classEntry) {
@@ -27,16 +27,22 @@ import org.quiltmc.enigma_plugin.QuiltEnigmaPlugin;
 import org.quiltmc.enigma_plugin.util.EntryUtil;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class NameProposer {
 	private final String id;
+	private final String sourcePluginId;
+	// Mappings are immutable, so the proposals of the same name from the jar can share one until proposal ends
+	private final Map<String, EntryMapping> jarProposedMappings = new ConcurrentHashMap<>();
+	private PendingMappings pendingMappings;
 
 	public NameProposer(String id) {
 		this.id = id;
+		this.sourcePluginId = getSourcePluginId(id);
 	}
 
 	public String getSourcePluginId() {
-		return getSourcePluginId(this.id);
+		return this.sourcePluginId;
 	}
 
 	public static String getSourcePluginId(String id) {
@@ -68,31 +74,82 @@ public abstract class NameProposer {
 	}
 
 	public void insertDynamicProposal(Map<Entry<?>, EntryMapping> mappings, Entry<?> entry, String name) {
-		this.insertProposal(mappings, entry, name, TokenType.DYNAMIC_PROPOSED);
+		this.insertProposal(mappings, entry, name, TokenType.DYNAMIC_PROPOSED, this.getSourcePluginId());
+	}
+
+	/**
+	 * Inserts a dynamic proposal on behalf of another proposer, which the proposal will be attributed to.
+	 */
+	protected void insertDynamicProposal(Map<Entry<?>, EntryMapping> mappings, Entry<?> entry, String name, String proposerId) {
+		this.insertProposal(mappings, entry, name, TokenType.DYNAMIC_PROPOSED, getSourcePluginId(proposerId));
 	}
 
 	private void insertProposal(Map<Entry<?>, EntryMapping> mappings, Entry<?> entry, String name, TokenType tokenType) {
+		this.insertProposal(mappings, entry, name, tokenType, this.getSourcePluginId());
+	}
+
+	private void insertProposal(Map<Entry<?>, EntryMapping> mappings, Entry<?> entry, String name, TokenType tokenType, String sourcePluginId) {
 		if (!mappings.containsKey(entry)) {
 			if (name != null) {
-				EntryMapping mapping = new EntryMapping(name, null, tokenType, this.getSourcePluginId());
-				mappings.put(entry, mapping);
+				mappings.put(entry, this.getProposedMapping(name, tokenType, sourcePluginId));
 			} else {
 				mappings.put(entry, null);
 			}
 		}
 	}
 
+	private EntryMapping getProposedMapping(String name, TokenType tokenType, String sourcePluginId) {
+		// Dynamic proposals and proposals on behalf of other proposers are too few to be worth caching
+		if (tokenType != TokenType.JAR_PROPOSED || !sourcePluginId.equals(this.sourcePluginId)) {
+			return new EntryMapping(name, null, tokenType, sourcePluginId);
+		}
+
+		return this.jarProposedMappings.computeIfAbsent(name, n -> new EntryMapping(n, null, tokenType, sourcePluginId));
+	}
+
 	public boolean hasJarProposal(EntryRemapper remapper, Entry<?> entry) {
 		return remapper.getJarProposedMappings().contains(entry);
 	}
 
 	public abstract void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings);
 
+	/**
+	 * Called once every proposer has inserted the names proposed from the jar.
+	 */
+	public void onProposalEnded() {
+		this.jarProposedMappings.clear();
+	}
+
+	/**
+	 * {@return whether {@link #insertProposedNames} only reads indexes and inserts proposals through
+	 * {@link #insertProposal}, so that it can run concurrently with other proposers, into a separate map}
+	 */
+	public boolean canProposeConcurrently() {
+		return false;
+	}
+
 	public void proposeDynamicNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping, Map<Entry<?>, EntryMapping> mappings) {
 	}
 
+	void setPendingMappings(@Nullable PendingMappings pendingMappings) {
+		this.pendingMappings = pendingMappings;
+	}
+
+	/**
+	 * {@return the mapping of an entry, including the renames and proposals of a batch preceding the rename being processed}
+	 *
+	 * @see NameProposerService#getDynamicProposedNames(EntryRemapper, java.util.Collection)
+	 */
+	public EntryMapping getMapping(EntryRemapper remapper, Entry<?> entry) {
+		return this.pendingMappings != null ? this.pendingMappings.getMapping(remapper, entry) : remapper.getMapping(entry);
+	}
+
+	boolean hasPendingMapping(Entry<?> entry) {
+		return this.pendingMappings != null && this.pendingMappings.contains(entry);
+	}
+
 	public EntryMapping getMappingOrNonHashed(Entry<?> entry, EntryRemapper remapper, TokenType type) {
-		return EntryUtil.getMappingOrNonHashed(entry, remapper, type, this.getSourcePluginId());
+		return this.mappingOrNonHashed(entry, this.getMapping(remapper, entry), type);
 	}
 
 	public EntryMapping mappingOrNonHashed(Entry<?> entry, @Nullable EntryMapping mapping, TokenType type) {
@@ -16,6 +16,7 @@
 
 package org.quiltmc.enigma_plugin.proposal;
 
+import org.jetbrains.annotations.Nullable;
 import org.quiltmc.enigma.api.Enigma;
 import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
 import org.quiltmc.enigma.api.service.EnigmaServiceContext;
@@ -25,16 +26,23 @@ import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
 import org.quiltmc.enigma.api.translation.representation.entry.Entry;
 import org.quiltmc.enigma_plugin.Arguments;
 import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.jfr.DynamicProposalEvent;
+import org.quiltmc.enigma_plugin.jfr.ProposeNamesEvent;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 public abstract class NameProposerService implements NameProposalService {
 	private final List<NameProposer> nameProposers = new ArrayList<>();
+	private int lastProposedNameCount;
 
 	protected void addIfEnabled(EnigmaServiceContext<NameProposalService> context, String name, Supplier<NameProposer> factory) {
 		this.addIfEnabled(context, null, name, indexer -> factory.get());
@@ -60,25 +68,195 @@ public abstract class NameProposerService implements NameProposalService {
 		this.nameProposers.add(factory.apply(indexer));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The returned map is sized after the number of names proposed the last time, to avoid rehashing it while
+	 * proposing names for the same jar again.
+	 *
+	 * @see #insertProposedNames(Enigma, JarIndex, Map)
+	 */
 	@Override
 	public Map<Entry<?>, EntryMapping> getProposedNames(Enigma enigma, JarIndex index) {
-		HashMap<Entry<?>, EntryMapping> proposedNames = new HashMap<>();
+		HashMap<Entry<?>, EntryMapping> proposedNames = new HashMap<>(Math.max(16, (int) (this.lastProposedNameCount / 0.75F) + 1));
+		this.insertProposedNames(enigma, index, proposedNames);
+		this.lastProposedNameCount = proposedNames.size();
+		return proposedNames;
+	}
 
+	/**
+	 * Inserts the names proposed from the jar directly into the given map, so that a consumer can collect them without
+	 * an intermediate map. The map only needs to support {@link Map#containsKey}, {@link Map#get}, {@link Map#put} and {@link Map#size},
+	 * allowing it to be a view writing into the consumer's own structures.
+	 *
+	 * <p>
+	 * The proposers which {@linkplain NameProposer#canProposeConcurrently() can} are run concurrently into separate maps,
+	 * which are merged in registration order, so that the first proposer to propose a name for an entry still wins.
+	 *
+	 * @param enigma the enigma instance
+	 * @param index the index of the jar
+	 * @param proposedNames the map receiving the proposed names, where a {@code null} mapping means the entry mustn't be proposed
+	 */
+	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> proposedNames) {
+		List<CompletableFuture<Map<Entry<?>, EntryMapping>>> concurrentProposals = new ArrayList<>(this.nameProposers.size());
 		for (NameProposer proposer : this.nameProposers) {
-			proposer.insertProposedNames(enigma, index, proposedNames);
+			if (proposer.canProposeConcurrently()) {
+				concurrentProposals.add(CompletableFuture.supplyAsync(() -> {
+					var event = new ProposeNamesEvent();
+					event.begin();
+
+					Map<Entry<?>, EntryMapping> proposerNames = new HashMap<>();
+					proposer.insertProposedNames(enigma, index, proposerNames);
+
+					commit(event, proposer, proposerNames.size(), true);
+					return proposerNames;
+				}));
+			} else {
+				concurrentProposals.add(null);
+			}
 		}
 
-		return proposedNames;
+		for (int i = 0; i < this.nameProposers.size(); i++) {
+			var future = concurrentProposals.get(i);
+			if (future == null) {
+				var event = new ProposeNamesEvent();
+				event.begin();
+
+				int previousSize = proposedNames.size();
+				var proposer = this.nameProposers.get(i);
+				proposer.insertProposedNames(enigma, index, proposedNames);
+
+				commit(event, proposer, proposedNames.size() - previousSize, false);
+				continue;
+			}
+
+			Map<Entry<?>, EntryMapping> concurrentProposedNames;
+			try {
+				concurrentProposedNames = future.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+			}
+
+			// Drop the future, so that the map can be collected once merged
+			concurrentProposals.set(i, null);
+
+			for (var entry : concurrentProposedNames.entrySet()) {
+				// Null proposals count as proposals, so putIfAbsent can't be used
+				if (!proposedNames.containsKey(entry.getKey())) {
+					proposedNames.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+
+		for (NameProposer proposer : this.nameProposers) {
+			proposer.onProposalEnded();
+		}
+	}
+
+	private static void commit(ProposeNamesEvent event, NameProposer proposer, int proposals, boolean concurrent) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.proposer = proposer.getSourcePluginId();
+			event.proposals = proposals;
+			event.concurrent = concurrent;
+			event.commit();
+		}
+	}
+
+	private static void commit(DynamicProposalEvent event, @Nullable Entry<?> entry, int renames, int proposals) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.entry = entry == null ? null : entry.toString();
+			event.renames = renames;
+			event.proposals = proposals;
+			event.commit();
+		}
 	}
 
 	@Override
 	public Map<Entry<?>, EntryMapping> getDynamicProposedNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping) {
+		var event = new DynamicProposalEvent();
+		event.begin();
+
 		HashMap<Entry<?>, EntryMapping> proposedNames = new HashMap<>();
 
 		for (NameProposer proposer : this.nameProposers) {
 			proposer.proposeDynamicNames(remapper, obfEntry, oldMapping, newMapping, proposedNames);
 		}
 
+		commit(event, obfEntry, 1, proposedNames.size());
+		return proposedNames;
+	}
+
+	/**
+	 * Computes the dynamic proposals for a batch of renames, which must already have been applied to the remapper.
+	 * The result is the same as applying the renames one after the other, with their proposals.
+	 *
+	 * <p>
+	 * Every proposer runs once for each rename, on the proposals of that rename only, so a batch costs about as much
+	 * as calling {@link #getDynamicProposedNames(EntryRemapper, Entry, EntryMapping, EntryMapping)} for each rename:
+	 * it only saves publishing the proposals of each rename separately. The proposers read the mappings of the
+	 * previous renames and their proposals through {@link NameProposer#getMapping(EntryRemapper, Entry)}, and the
+	 * proposals of later renames replace the ones of earlier renames in the returned map.
+	 *
+	 * @param remapper the remapper the renames are applied to
+	 * @param renames the renames, in order, where the old mapping of the first rename of each entry is its mapping
+	 *                before the batch
+	 * @return the proposed names, for every entry proposed by any of the renames
+	 */
+	public Map<Entry<?>, EntryMapping> getDynamicProposedNames(EntryRemapper remapper, Collection<Rename> renames) {
+		var event = new DynamicProposalEvent();
+		event.begin();
+
+		var pendingMappings = new PendingMappings(renames);
+		this.nameProposers.forEach(proposer -> proposer.setPendingMappings(pendingMappings));
+
+		HashMap<Entry<?>, EntryMapping> proposedNames = new HashMap<>();
+		Rename last = null;
+
+		try {
+			for (Rename rename : renames) {
+				// The mapping the entry had after the previous renames and their proposals
+				EntryMapping oldMapping = rename.obfEntry() == null ? rename.oldMapping() : pendingMappings.getMapping(remapper, rename.obfEntry());
+				pendingMappings.rename(rename.obfEntry(), rename.newMapping());
+
+				HashMap<Entry<?>, EntryMapping> renameProposedNames = new HashMap<>();
+				for (NameProposer proposer : this.nameProposers) {
+					proposer.proposeDynamicNames(remapper, rename.obfEntry(), oldMapping, rename.newMapping(), renameProposedNames);
+				}
+
+				pendingMappings.propose(renameProposedNames);
+				proposedNames.putAll(renameProposedNames);
+				last = rename;
+			}
+		} finally {
+			this.nameProposers.forEach(proposer -> proposer.setPendingMappings(null));
+		}
+
+		commit(event, last == null ? null : last.obfEntry(), renames.size(), proposedNames.size());
 		return proposedNames;
 	}
+
+	/**
+	 * Creates a queue computing the dynamic proposals of this service in the background.
+	 *
+	 * @param remapper the remapper the renames are applied to
+	 * @param remapperLock the lock guarding the remapper, see {@link DynamicProposalQueue}
+	 * @param publisher receives each batch of proposals
+	 * @return the queue, which must be closed once no longer used
+	 */
+	public DynamicProposalQueue createDynamicProposalQueue(EntryRemapper remapper, Object remapperLock, Consumer<Map<Entry<?>, EntryMapping>> publisher) {
+		return new DynamicProposalQueue(this, remapper, remapperLock, publisher);
+	}
+
+	/**
+	 * A rename, with the same arguments as {@link #getDynamicProposedNames(EntryRemapper, Entry, EntryMapping, EntryMapping)}.
+	 *
+	 * @param obfEntry the renamed entry, or {@code null} when mappings are loaded
+	 * @param oldMapping the mapping before the rename
+	 * @param newMapping the mapping after the rename
+	 */
+	public record Rename(Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping) {
+	}
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.quiltmc.enigma.api.source.TokenType;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.proposal.NameProposerService.Rename;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The mappings of a batch of renames as they would be after each rename, if the renames and their proposals were
+ * applied one after the other.
+ *
+ * <p>
+ * The remapper already holds every rename of the batch, but none of their proposals. Until an entry is renamed by the
+ * batch, it keeps the mapping it had before the batch, and the proposals of the previous renames replace the ones
+ * of the remapper, as {@link EntryRemapper#insertDynamicallyProposedMappings} would have done.
+ */
+class PendingMappings {
+	private final Map<Entry<?>, EntryMapping> previousMappings = new HashMap<>();
+	private final Map<Entry<?>, EntryMapping> renamed = new HashMap<>();
+	private final Map<Entry<?>, EntryMapping> proposed = new HashMap<>();
+
+	/**
+	 * @param renames the renames of the batch, where the first rename of each entry holds its mapping before the batch
+	 */
+	PendingMappings(Collection<Rename> renames) {
+		for (Rename rename : renames) {
+			if (rename.obfEntry() != null && !this.previousMappings.containsKey(rename.obfEntry())) {
+				this.previousMappings.put(rename.obfEntry(), rename.oldMapping());
+				this.renamed.put(rename.obfEntry(), userMapping(rename.oldMapping()));
+			}
+		}
+	}
+
+	private static EntryMapping userMapping(EntryMapping mapping) {
+		return isUserMapping(mapping) ? mapping : null;
+	}
+
+	private static boolean isUserMapping(EntryMapping mapping) {
+		return mapping != null && mapping.tokenType() == TokenType.DEOBFUSCATED;
+	}
+
+	void rename(Entry<?> entry, EntryMapping mapping) {
+		if (entry != null) {
+			this.renamed.put(entry, userMapping(mapping));
+		}
+	}
+
+	void propose(Map<Entry<?>, EntryMapping> mappings) {
+		this.proposed.putAll(mappings);
+	}
+
+	boolean contains(Entry<?> entry) {
+		return this.renamed.containsKey(entry) || this.proposed.containsKey(entry);
+	}
+
+	EntryMapping getMapping(EntryRemapper remapper, Entry<?> entry) {
+		EntryMapping mapping;
+		if (this.renamed.containsKey(entry)) {
+			EntryMapping userMapping = this.renamed.get(entry);
+			if (userMapping != null) {
+				return userMapping;
+			}
+
+			mapping = this.previousMappings.get(entry);
+			if (isUserMapping(mapping)) {
+				// Unnamed by the batch, the remapper holds the mapping it falls back to unless it's named again
+				mapping = remapper.getMapping(entry);
+				if (isUserMapping(mapping)) {
+					mapping = getJarProposedMapping(remapper, entry);
+				}
+			}
+		} else {
+			mapping = remapper.getMapping(entry);
+			if (isUserMapping(mapping)) {
+				return mapping;
+			}
+		}
+
+		if (this.proposed.containsKey(entry)) {
+			EntryMapping proposedMapping = this.proposed.get(entry);
+			return proposedMapping != null ? proposedMapping : getJarProposedMapping(remapper, entry);
+		}
+
+		return mapping != null ? mapping : EntryMapping.OBFUSCATED;
+	}
+
+	private static EntryMapping getJarProposedMapping(EntryRemapper remapper, Entry<?> entry) {
+		EntryMapping mapping = remapper.getJarProposedMappings().get(entry);
+		return mapping != null ? mapping : EntryMapping.OBFUSCATED;
+	}
+}
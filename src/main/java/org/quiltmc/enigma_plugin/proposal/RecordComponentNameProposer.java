@@ -37,6 +37,11 @@ public class RecordComponentNameProposer extends NameProposer {
 		this.index = index.getIndex(RecordIndex.class);
 	}
 
+	@Override
+	public boolean canProposeConcurrently() {
+		return true;
+	}
+
 	@Override
 	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
 		for (ClassEntry recordClass : this.index.getRecordClasses()) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.source.TokenType;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.RenamePropagationGraph;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Propagates a renamed entry to all the entries linked to it in the {@link RenamePropagationGraph}, for instance
+ * from a field to its setter parameter, and then to the parameters delegating to it.
+ * The proposals are attributed to the proposer of the index the followed edge comes from, and only the edges whose
+ * proposer is enabled are followed.
+ *
+ * <p>
+ * Loaded mappings are still handled by each proposer, as they don't start from a single entry.
+ */
+public class RenamePropagationProposer extends NameProposer {
+	public static final String ID = "rename_propagation";
+	private final JarIndexer indexer;
+	private final Set<RenamePropagationGraph.Source> sources;
+
+	/**
+	 * @param indexer the indexer holding the graph
+	 * @param sources the sources of the edges to follow, whose proposers are enabled
+	 */
+	public RenamePropagationProposer(JarIndexer indexer, Set<RenamePropagationGraph.Source> sources) {
+		super(ID);
+		this.indexer = indexer;
+		this.sources = sources;
+	}
+
+	private static String getProposerId(RenamePropagationGraph.Source source) {
+		return switch (source) {
+			case CONSTRUCTOR_PARAMETERS -> ConstructorParamsNameProposer.ID;
+			case GETTER_SETTER -> GetterSetterNameProposer.ID;
+			case DELEGATE_PARAMETERS -> DelegateParametersNameProposer.ID;
+		};
+	}
+
+	@Override
+	public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
+	}
+
+	@Override
+	public void proposeDynamicNames(EntryRemapper remapper, Entry<?> obfEntry, EntryMapping oldMapping, EntryMapping newMapping, Map<Entry<?>, EntryMapping> mappings) {
+		if (obfEntry == null) {
+			return;
+		}
+
+		var graph = this.indexer.getRenamePropagationGraph();
+		if (!graph.hasEdges(obfEntry)) {
+			return;
+		}
+
+		String name = this.mappingOrNonHashed(obfEntry, newMapping, TokenType.DYNAMIC_PROPOSED).targetName();
+
+		// Unnamed parameters take the name of their delegate instead, see DelegateParametersNameProposer
+		Predicate<RenamePropagationGraph.Edge> follow = edge -> this.sources.contains(edge.source())
+				&& (name != null || edge.source() != RenamePropagationGraph.Source.DELEGATE_PARAMETERS);
+		graph.propagate(obfEntry, name, follow, (target, targetName, edge) -> {
+			if (this.hasJarProposal(remapper, target)) {
+				return false;
+			}
+
+			this.insertDynamicProposal(mappings, target, targetName, getProposerId(edge.source()));
+			return true;
+		});
+	}
+}
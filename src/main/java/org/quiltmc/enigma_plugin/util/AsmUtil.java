@@ -23,8 +23,6 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.InsnList;
-import org.objectweb.asm.tree.LdcInsnNode;
-import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.ParameterNode;
 import org.objectweb.asm.tree.analysis.Frame;
@@ -162,65 +160,12 @@ public class AsmUtil implements Opcodes {
 
 	/**
 	 * Search for an instruction matching the given predicate in the stack of a method.
+	 * Use a {@link StackSearchContext} to share the results between multiple searches in the same method.
 	 *
 	 * @see #searchInsnInStack(InsnList, AbstractInsnNode, Frame[], Predicate)
 	 */
 	public static AbstractInsnNode searchInsnInStack(InsnList insns, AbstractInsnNode frameInsn, Frame<SourceValue>[] frames, Predicate<AbstractInsnNode> insnPredicate, boolean shallow) {
-		int frameIndex = insns.indexOf(frameInsn);
-		var frame = frames[frameIndex];
-
-		AbstractInsnNode lastStackInsn = null;
-		for (int i = 0; i < frame.getStackSize(); i++) {
-			var value = frame.getStack(i);
-			for (var stackInsn : value.insns) {
-				if (insnPredicate.test(stackInsn)) {
-					return stackInsn;
-				} else if (stackInsn.getOpcode() == INVOKESTATIC && !shallow) {
-					if (!(frameInsn instanceof MethodInsnNode mInsn) || mInsn.owner.equals(((MethodInsnNode) stackInsn).owner)) {
-						return searchInsnInStack(insns, stackInsn, frames, insnPredicate, false);
-					}
-				}
-
-				lastStackInsn = stackInsn;
-			}
-		}
-
-		if (!shallow && lastStackInsn != null && lastStackInsn.getOpcode() == DUP && lastStackInsn.getPrevious() != null && lastStackInsn.getPrevious().getOpcode() == NEW) {
-			// Find the last frame containing two DUP instructions in the stack
-			// This used to search a single DUP following a NEW, but ASM commit 172221565c4347060d79285f183cdbca72344616
-			// changed the behavior for DUPS to replace the previous value
-			// Stack before: ..., NEW ..., DUP; after: ..., DUP, DUP
-			int searchFrameIndex = insns.indexOf(lastStackInsn) + 1;
-			var searchFrame = frames[searchFrameIndex];
-
-			while (searchFrame != null && searchFrameIndex <= frameIndex) {
-				int count = 0;
-				for (int j = 0; j < searchFrame.getStackSize(); j++) {
-					if (frame.getStack(j).insns.contains(lastStackInsn)) {
-						count++;
-						if (count == 2) {
-							break;
-						}
-					}
-				}
-
-				if (count == 2) {
-					searchFrameIndex++;
-					if (searchFrameIndex < frames.length) {
-						searchFrame = frames[searchFrameIndex];
-					} else {
-						searchFrame = null;
-					}
-				} else {
-					var insn = insns.get(searchFrameIndex - 1); // This was the last instruction with a frame with two dups
-					if (insn != frameInsn) {
-						return searchInsnInStack(insns, insn, frames, insnPredicate, false);
-					}
-				}
-			}
-		}
-
-		return null;
+		return new StackSearchContext(insns, frames).search(frameInsn, insnPredicate, insnPredicate, shallow);
 	}
 
 	/**
@@ -229,13 +174,7 @@ public class AsmUtil implements Opcodes {
 	 * @see #searchInsnInStack(InsnList, AbstractInsnNode, Frame[], Predicate)
 	 */
 	public static String searchStringCstInStack(InsnList insns, AbstractInsnNode frameInsn, Frame<SourceValue>[] frames) {
-		var insn = searchInsnInStack(insns, frameInsn, frames,
-				insnNode -> insnNode instanceof LdcInsnNode ldc && ldc.cst instanceof String constant && !constant.isBlank());
-		if (insn instanceof LdcInsnNode ldc) {
-			return (String) ldc.cst;
-		}
-
-		return null;
+		return new StackSearchContext(insns, frames).searchStringCst(frameInsn);
 	}
 
 	/**
@@ -244,14 +183,7 @@ public class AsmUtil implements Opcodes {
 	 * @see #searchInsnInStack(InsnList, AbstractInsnNode, Frame[], Predicate)
 	 */
 	public static String shallowSearchStringCstInStack(InsnList insns, AbstractInsnNode frameInsn, Frame<SourceValue>[] frames) {
-		var insn = searchInsnInStack(insns, frameInsn, frames,
-				insnNode -> insnNode instanceof LdcInsnNode ldc && ldc.cst instanceof String constant && !constant.isBlank(),
-				true);
-		if (insn instanceof LdcInsnNode ldc) {
-			return (String) ldc.cst;
-		}
-
-		return null;
+		return new StackSearchContext(insns, frames).shallowSearchStringCst(frameInsn);
 	}
 
 	/**
@@ -260,12 +192,6 @@ public class AsmUtil implements Opcodes {
 	 * @see #searchInsnInStack(InsnList, AbstractInsnNode, Frame[], Predicate)
 	 */
 	public static FieldInsnNode searchStaticFieldReferenceInStack(InsnList insns, AbstractInsnNode frameInsn, Frame<SourceValue>[] frames, String clazz) {
-		var insn = searchInsnInStack(insns, frameInsn, frames,
-				insnNode -> insnNode instanceof FieldInsnNode fieldInsn && fieldInsn.getOpcode() == GETSTATIC && !fieldInsn.owner.equals(clazz));
-		if (insn instanceof FieldInsnNode fieldInsn) {
-			return fieldInsn;
-		}
-
-		return null;
+		return new StackSearchContext(insns, frames).searchStaticFieldReference(frameInsn, clazz);
 	}
 }
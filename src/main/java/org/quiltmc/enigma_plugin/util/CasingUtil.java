@@ -19,14 +19,38 @@ package org.quiltmc.enigma_plugin.util;
 import org.jetbrains.annotations.Nullable;
 
 public class CasingUtil {
+	/**
+	 * Converts a snake case name to camel case, dropping the underscores and upper casing the character following them.
+	 *
+	 * <p>
+	 * Names whose underscores are all followed by a lower case letter are converted as they always were. Other names
+	 * used to loop forever, or to throw with a trailing underscore.
+	 *
+	 * @param name the name to convert, which mustn't be empty
+	 * @return the name in camel case, starting with a lower case letter
+	 */
 	public static String toCamelCase(String name) {
 		// Make sure the first letter is lower case
 		name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
-		while (name.contains("_")) {
-			name = name.replaceFirst("_[a-z]", String.valueOf(Character.toUpperCase(name.charAt(name.indexOf('_') + 1))));
+		if (name.indexOf('_') < 0) {
+			return name;
 		}
 
-		return name;
+		// Underscores are dropped, and the following character is upper cased, even if it isn't a lower case letter
+		var builder = new StringBuilder(name.length());
+		boolean upperCaseNext = false;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+
+			if (c == '_') {
+				upperCaseNext = true;
+			} else {
+				builder.append(upperCaseNext ? Character.toUpperCase(c) : c);
+				upperCaseNext = false;
+			}
+		}
+
+		return builder.toString();
 	}
 
 	public static String toScreamingSnakeCase(String name) {
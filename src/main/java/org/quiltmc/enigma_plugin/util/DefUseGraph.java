@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Links the instructions producing stack values to the invocations consuming them, built once from the frames
+ * of an analyzed method.
+ *
+ * <p>
+ * Only method invocations are recorded as consumers. The uses of a producer are sorted by instruction index.
+ */
+public class DefUseGraph {
+	private final Map<AbstractInsnNode, List<Use>> uses = new HashMap<>();
+
+	private DefUseGraph() {
+	}
+
+	/**
+	 * Builds the graph of a method.
+	 *
+	 * @param instructions the instructions of the method
+	 * @param frames the frames computed by an analyzer using a {@link org.objectweb.asm.tree.analysis.SourceInterpreter}
+	 * @return the graph
+	 */
+	public static DefUseGraph build(InsnList instructions, Frame<SourceValue>[] frames) {
+		DefUseGraph graph = new DefUseGraph();
+
+		int i = 0;
+		for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext(), i++) {
+			Frame<SourceValue> frame = i < frames.length ? frames[i] : null;
+			if (frame == null) {
+				continue;
+			}
+
+			String desc;
+			boolean hasThis;
+			if (insn instanceof MethodInsnNode methodInsn) {
+				desc = methodInsn.desc;
+				hasThis = methodInsn.getOpcode() != Opcodes.INVOKESTATIC;
+			} else if (insn instanceof InvokeDynamicInsnNode invokeDynamicInsn) {
+				desc = invokeDynamicInsn.desc;
+				hasThis = false;
+			} else {
+				continue;
+			}
+
+			int consumed = Type.getArgumentCount(desc) + (hasThis ? 1 : 0);
+			int base = frame.getStackSize() - consumed;
+			if (base < 0) {
+				continue;
+			}
+
+			for (int position = 0; position < consumed; position++) {
+				SourceValue value = frame.getStack(base + position);
+				for (AbstractInsnNode producer : value.insns) {
+					graph.uses.computeIfAbsent(producer, k -> new ArrayList<>()).add(new Use(insn, i, position));
+				}
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Gets the invocations consuming a value produced by the given instruction.
+	 *
+	 * @param producer the producing instruction
+	 * @return the uses, sorted by instruction index
+	 */
+	public List<Use> getUses(AbstractInsnNode producer) {
+		return this.uses.getOrDefault(producer, Collections.emptyList());
+	}
+
+	/**
+	 * A value consumed by an invocation.
+	 *
+	 * @param insn the invocation instruction
+	 * @param index the index of the invocation in the method instructions
+	 * @param position the position of the value in the consumed values, starting with the receiver if there's one
+	 */
+	public record Use(AbstractInsnNode insn, int index, int position) {
+	}
+}
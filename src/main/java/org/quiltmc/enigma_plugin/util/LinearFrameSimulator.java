@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.Interpreter;
+import org.objectweb.asm.tree.analysis.Value;
+
+import java.util.function.Predicate;
+
+/**
+ * Computes the frames of methods without any control flow by executing their instructions in order,
+ * as a cheaper alternative to an {@link Analyzer}.
+ *
+ * <p>
+ * For a {@link #isLinear(MethodNode) linear} method, the frames are the same as the ones computed by an analyzer
+ * with the same interpreter.
+ */
+public class LinearFrameSimulator implements Opcodes {
+	/**
+	 * Checks whether a method has no jumps, switches, subroutines or exception handlers,
+	 * so that every instruction can only be reached from the previous one.
+	 *
+	 * @param method the method
+	 * @return whether the frames of the method can be simulated
+	 */
+	public static boolean isLinear(MethodNode method) {
+		if (method.tryCatchBlocks != null && !method.tryCatchBlocks.isEmpty()) {
+			return false;
+		}
+
+		for (var insn = method.instructions.getFirst(); insn != null; insn = insn.getNext()) {
+			int type = insn.getType();
+			if (type == AbstractInsnNode.JUMP_INSN || type == AbstractInsnNode.TABLESWITCH_INSN || type == AbstractInsnNode.LOOKUPSWITCH_INSN
+					|| insn.getOpcode() == RET) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Simulates the frames of a {@link #isLinear(MethodNode) linear} method.
+	 * Unlike an {@link Analyzer}, only the frames of the instructions matching the given predicate are kept.
+	 *
+	 * @param owner the internal name of the class declaring the method
+	 * @param method the method
+	 * @param interpreter the interpreter
+	 * @param keepFrame whether the frame before an instruction should be kept
+	 * @param <V> the type of the values
+	 * @return the frames before each instruction, or {@code null} for unreachable or ignored instructions
+	 * @throws AnalyzerException if the interpreter fails on an instruction
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V extends Value> Frame<V>[] simulate(String owner, MethodNode method, Interpreter<V> interpreter, Predicate<AbstractInsnNode> keepFrame) throws AnalyzerException {
+		var instructions = method.instructions;
+		if ((method.access & (ACC_ABSTRACT | ACC_NATIVE)) != 0) {
+			return (Frame<V>[]) new Frame<?>[0];
+		}
+
+		var frames = (Frame<V>[]) new Frame<?>[instructions.size()];
+		var frame = computeInitialFrame(owner, method, interpreter);
+
+		int i = 0;
+		for (var insn = instructions.getFirst(); insn != null; insn = insn.getNext(), i++) {
+			if (keepFrame.test(insn)) {
+				frames[i] = new Frame<>(frame);
+			}
+
+			int type = insn.getType();
+			if (type == AbstractInsnNode.LABEL || type == AbstractInsnNode.LINE || type == AbstractInsnNode.FRAME) {
+				continue;
+			}
+
+			try {
+				frame.execute(insn, interpreter);
+			} catch (RuntimeException e) {
+				throw new AnalyzerException(insn, "Error at instruction " + i + ": " + e.getMessage(), e);
+			}
+
+			int opcode = insn.getOpcode();
+			if ((opcode >= IRETURN && opcode <= RETURN) || opcode == ATHROW) {
+				break; // The following instructions are unreachable
+			}
+		}
+
+		return frames;
+	}
+
+	// Mirrors the initial frame computed by the analyzer
+	private static <V extends Value> Frame<V> computeInitialFrame(String owner, MethodNode method, Interpreter<V> interpreter) {
+		var frame = new Frame<V>(method.maxLocals, method.maxStack);
+		int local = 0;
+
+		boolean isInstanceMethod = (method.access & ACC_STATIC) == 0;
+		if (isInstanceMethod) {
+			frame.setLocal(local, interpreter.newParameterValue(true, local, Type.getObjectType(owner)));
+			local++;
+		}
+
+		for (var argumentType : Type.getArgumentTypes(method.desc)) {
+			frame.setLocal(local, interpreter.newParameterValue(isInstanceMethod, local, argumentType));
+			local++;
+
+			if (argumentType.getSize() == 2) {
+				frame.setLocal(local, interpreter.newEmptyValue(local));
+				local++;
+			}
+		}
+
+		while (local < method.maxLocals) {
+			frame.setLocal(local, interpreter.newEmptyValue(local));
+			local++;
+		}
+
+		frame.setReturn(interpreter.newReturnTypeValue(Type.getReturnType(method.desc)));
+		return frame;
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Searches instructions in the stack of a method, remembering the results of previous searches.
+ *
+ * <p>
+ * A search starting from an instruction either finds a matching instruction in the stack of its frame, or continues
+ * from another instruction: a static method invocation producing a stack value, or the last instruction keeping two
+ * {@code DUP}ed values of a {@code NEW} in the stack. Since these continuations only depend on the method, the result
+ * of every instruction along the way is cached per kind of search, and shared by the following searches.
+ *
+ * <p>
+ * A context must only be used with the instructions and frames it was created with.
+ */
+public class StackSearchContext implements Opcodes {
+	private static final Predicate<AbstractInsnNode> STRING_CST = insnNode -> insnNode instanceof LdcInsnNode ldc && ldc.cst instanceof String constant && !constant.isBlank();
+	private static final AbstractInsnNode NONE = new InsnNode(NOP);
+	private static final Step NO_STEP = new Step(null, false);
+
+	private final InsnList insns;
+	private final Frame<SourceValue>[] frames;
+	private final Map<Kind, Map<AbstractInsnNode, AbstractInsnNode>> results = new HashMap<>();
+	private final Map<AbstractInsnNode, Map<AbstractInsnNode, AbstractInsnNode>> dupSearches = new HashMap<>();
+
+	public StackSearchContext(InsnList insns, Frame<SourceValue>[] frames) {
+		this.insns = insns;
+		this.frames = frames;
+	}
+
+	/**
+	 * Searches a non-blank string constant in the stack of the given instruction.
+	 */
+	public String searchStringCst(AbstractInsnNode frameInsn) {
+		return this.search(frameInsn, STRING_CST, STRING_CST, false) instanceof LdcInsnNode ldc ? (String) ldc.cst : null;
+	}
+
+	/**
+	 * Searches a non-blank string constant in the stack of the given instruction, without following other instructions.
+	 */
+	public String shallowSearchStringCst(AbstractInsnNode frameInsn) {
+		return this.search(frameInsn, STRING_CST, STRING_CST, true) instanceof LdcInsnNode ldc ? (String) ldc.cst : null;
+	}
+
+	/**
+	 * Searches a static field, the parent of which isn't the given class, in the stack of the given instruction.
+	 */
+	public FieldInsnNode searchStaticFieldReference(AbstractInsnNode frameInsn, String clazz) {
+		var insn = this.search(frameInsn, new StaticFieldKind(clazz),
+				insnNode -> insnNode instanceof FieldInsnNode fieldInsn && fieldInsn.getOpcode() == GETSTATIC && !fieldInsn.owner.equals(clazz), false);
+		return insn instanceof FieldInsnNode fieldInsn ? fieldInsn : null;
+	}
+
+	/**
+	 * Searches an instruction matching the given predicate in the stack of the given instruction.
+	 *
+	 * @param frameInsn the instruction whose frame is searched first
+	 * @param kind a key identifying the predicate, equal keys must be used for equivalent predicates only
+	 * @param insnPredicate the predicate
+	 * @param shallow whether only the frame of {@code frameInsn} should be searched
+	 * @return the matching instruction, or {@code null} if none was found
+	 */
+	public AbstractInsnNode search(AbstractInsnNode frameInsn, Object kind, Predicate<AbstractInsnNode> insnPredicate, boolean shallow) {
+		var cache = this.results.computeIfAbsent(new Kind(kind, shallow), k -> new HashMap<>());
+		List<AbstractInsnNode> path = new ArrayList<>();
+		Set<AbstractInsnNode> visited = new HashSet<>();
+
+		AbstractInsnNode current = frameInsn;
+		AbstractInsnNode result = null;
+		while (current != null) {
+			var cached = cache.get(current);
+			if (cached != null) {
+				result = cached == NONE ? null : cached;
+				break;
+			} else if (!visited.add(current)) {
+				break; // Cycle, nothing can be found
+			}
+
+			path.add(current);
+
+			var step = this.step(current, insnPredicate, shallow);
+			if (step.found()) {
+				result = step.insn();
+				break;
+			}
+
+			current = step.insn();
+		}
+
+		for (var insn : path) {
+			cache.put(insn, result == null ? NONE : result);
+		}
+
+		return result;
+	}
+
+	private Step step(AbstractInsnNode frameInsn, Predicate<AbstractInsnNode> insnPredicate, boolean shallow) {
+		int frameIndex = this.insns.indexOf(frameInsn);
+		var frame = this.frames[frameIndex];
+
+		AbstractInsnNode lastStackInsn = null;
+		for (int i = 0; i < frame.getStackSize(); i++) {
+			var value = frame.getStack(i);
+			for (var stackInsn : value.insns) {
+				if (insnPredicate.test(stackInsn)) {
+					return new Step(stackInsn, true);
+				} else if (stackInsn.getOpcode() == INVOKESTATIC && !shallow) {
+					if (!(frameInsn instanceof MethodInsnNode mInsn) || mInsn.owner.equals(((MethodInsnNode) stackInsn).owner)) {
+						return new Step(stackInsn, false);
+					}
+				}
+
+				lastStackInsn = stackInsn;
+			}
+		}
+
+		if (!shallow && lastStackInsn != null && lastStackInsn.getOpcode() == DUP && lastStackInsn.getPrevious() != null && lastStackInsn.getPrevious().getOpcode() == NEW) {
+			var dupSearches = this.dupSearches.computeIfAbsent(frameInsn, k -> new HashMap<>());
+			var next = dupSearches.get(lastStackInsn);
+			if (next == null) {
+				next = this.findDupPairInsn(frameIndex, frame, lastStackInsn);
+				dupSearches.put(lastStackInsn, next == null ? NONE : next);
+			}
+
+			return next == NONE ? NO_STEP : new Step(next, false);
+		}
+
+		return NO_STEP;
+	}
+
+	private AbstractInsnNode findDupPairInsn(int frameIndex, Frame<SourceValue> frame, AbstractInsnNode dupInsn) {
+		// Find the last frame containing two DUP instructions in the stack
+		// This used to search a single DUP following a NEW, but ASM commit 172221565c4347060d79285f183cdbca72344616
+		// changed the behavior for DUPS to replace the previous value
+		// Stack before: ..., NEW ..., DUP; after: ..., DUP, DUP
+		int searchFrameIndex = this.insns.indexOf(dupInsn) + 1;
+		var searchFrame = this.frames[searchFrameIndex];
+
+		while (searchFrame != null && searchFrameIndex <= frameIndex) {
+			int count = 0;
+			for (int j = 0; j < searchFrame.getStackSize(); j++) {
+				// The values are read from the frame of the searched instruction, bounded by the candidate frame size, as it always was
+				if (frame.getStack(j).insns.contains(dupInsn)) {
+					count++;
+					if (count == 2) {
+						break;
+					}
+				}
+			}
+
+			if (count == 2) {
+				searchFrameIndex++;
+				if (searchFrameIndex < this.frames.length) {
+					searchFrame = this.frames[searchFrameIndex];
+				} else {
+					searchFrame = null;
+				}
+			} else {
+				// This was the last instruction with a frame with two dups, it can't be the searched one
+				// since the searched frame index is at most the index of the frame instruction
+				return this.insns.get(searchFrameIndex - 1);
+			}
+		}
+
+		return null;
+	}
+
+	private record Kind(Object kind, boolean shallow) {
+	}
+
+	private record StaticFieldKind(String clazz) {
+	}
+
+	private record Step(AbstractInsnNode insn, boolean found) {
+	}
+}
@@ -202,6 +202,30 @@ public class NameProposalTest {
 		assertDynamicProposal("name", localVar(method, 1));
 	}
 
+	@Test
+	public void testRenamePropagation() {
+		var classEntry = new ClassEntry("com/a/c$a");
+		var constructor = method(classEntry, "<init>", "(I)V");
+		var field = field(classEntry, "a", "I");
+		var vc = new ValidationContext(null);
+
+		// Constructor parameter -> field -> setter parameter -> delegating parameter
+		remapper.putMapping(vc, localVar(constructor, 1), new EntryMapping("amount"));
+
+		MethodEntry method;
+		assertDynamicProposal("amount", field);
+		assertDynamicProposal("getAmount", method(classEntry, "a", "()I"));
+		assertDynamicProposal("setAmount", (method = method(classEntry, "a", "(I)V")));
+		assertDynamicProposal("amount", localVar(method, 1));
+		assertDynamicProposal("amount", localVar(method(classEntry, "b", "(I)V"), 1));
+
+		// Unnaming the constructor parameter clears the proposals instead of reverting to the field's name
+		remapper.putMapping(vc, localVar(constructor, 1), EntryMapping.OBFUSCATED);
+		assertNotProposed(field);
+		assertNotProposed(method(classEntry, "a", "()I"));
+		assertNotProposed(method);
+	}
+
 	@Test
 	public void testSimpleTypeSingleNames() {
 		var classEntry = new ClassEntry("com/a/e");
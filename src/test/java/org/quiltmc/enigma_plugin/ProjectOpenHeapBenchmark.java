@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin;
+
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma_plugin.cli.HeapPeakMonitor;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Measures the peak heap usage while opening a project, which includes indexing the jar and proposing names.
+ *
+ * <p>
+ * The peak is sampled by a {@link HeapPeakMonitor}, before each garbage collection and once the project is open.
+ */
+public class ProjectOpenHeapBenchmark {
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			Logger.info("Usage: ProjectOpenHeapBenchmark <jar> <profile> [<iterations>]");
+			System.exit(1);
+		}
+
+		Path jar = Path.of(args[0]);
+		var profile = EnigmaProfile.read(Path.of(args[1]));
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		long minPeak = Long.MAX_VALUE;
+		long totalTime = 0;
+
+		try (var monitor = new HeapPeakMonitor()) {
+			for (int i = 0; i < iterations; i++) {
+				var enigma = Enigma.builder().setProfile(profile).build();
+
+				System.gc();
+				long baseline = HeapPeakMonitor.getHeapUsage();
+				monitor.reset();
+
+				long start = System.nanoTime();
+				var project = enigma.openJar(jar, new ClasspathClassProvider(), ProgressListener.createEmpty());
+				totalTime += System.nanoTime() - start;
+
+				long peak = monitor.getPeak() - baseline;
+				minPeak = Math.min(minPeak, peak);
+				Logger.info("Iteration {}: {} MiB peak", i, String.format("%.1f", peak / 1024.0 / 1024.0));
+
+				// Keep the project reachable until the peak is measured
+				project.getRemapper();
+			}
+		}
+
+		Logger.info("ProjectOpenHeapBenchmark\n"
+				+ "  " + String.format("%.1f", minPeak / 1024.0 / 1024.0) + " MiB minimum peak heap above baseline\n"
+				+ "  " + String.format("%.1f", totalTime / 1_000_000.0 / iterations) + " ms/open");
+	}
+}
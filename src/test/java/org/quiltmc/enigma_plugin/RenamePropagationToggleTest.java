@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.source.TokenType;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
+import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+import org.quiltmc.enigma.util.validation.ValidationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class RenamePropagationToggleTest {
+	private static final Path JAR = Path.of("build/obf/obf.jar");
+	// Disables the getter/setter proposer, while its index stays enabled
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile_no_getter_setter.json");
+
+	@Test
+	public void testDisabledProposerIsNotPropagated() throws IOException {
+		var profile = EnigmaProfile.read(PROFILE);
+		var enigma = Enigma.builder().setProfile(profile).build();
+
+		var project = enigma.openJar(JAR, new ClasspathClassProvider(), ProgressListener.createEmpty());
+		var remapper = project.getRemapper();
+		remapper.insertDynamicallyProposedMappings(null, null, null);
+
+		var classEntry = new ClassEntry("com/a/c$a");
+		var constructor = new MethodEntry(classEntry, "<init>", new MethodDescriptor("(I)V"));
+		var field = new FieldEntry(classEntry, "a", new TypeDescriptor("I"));
+		var getter = new MethodEntry(classEntry, "a", new MethodDescriptor("()I"));
+		var setter = new MethodEntry(classEntry, "a", new MethodDescriptor("(I)V"));
+
+		remapper.putMapping(new ValidationContext(null), new LocalVariableEntry(constructor, 1), new EntryMapping("amount"));
+
+		// The constructor parameter still names its field, but the propagation stops there
+		var fieldMapping = remapper.getMapping(field);
+		Assertions.assertEquals("amount", fieldMapping.targetName());
+		Assertions.assertEquals(TokenType.DYNAMIC_PROPOSED, fieldMapping.tokenType());
+
+		Assertions.assertEquals(EntryMapping.OBFUSCATED, remapper.getMapping(getter));
+		Assertions.assertEquals(EntryMapping.OBFUSCATED, remapper.getMapping(setter));
+		Assertions.assertEquals(EntryMapping.OBFUSCATED, remapper.getMapping(new LocalVariableEntry(setter, 1)));
+		Assertions.assertEquals(EntryMapping.OBFUSCATED, remapper.getMapping(new LocalVariableEntry(new MethodEntry(classEntry, "b", new MethodDescriptor("(I)V")), 1)));
+	}
+}
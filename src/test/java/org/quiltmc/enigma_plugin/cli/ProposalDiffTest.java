@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.cli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+import org.quiltmc.enigma_plugin.QuiltEnigmaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+public class ProposalDiffTest {
+	private static final Path JAR = Path.of("build/obf/obf.jar");
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile.json");
+	private static final String PLUGIN_PACKAGE = "org/quiltmc/enigma_plugin/";
+	private static final String RUNNER_PACKAGE = PLUGIN_PACKAGE + "cli/";
+	private static final String PLUGIN_SERVICE = "META-INF/services/org.quiltmc.enigma.api.EnigmaPlugin";
+	// A build of another commit of the plugin, to compare with instead of this build without its runner
+	private static final String BASELINE_PROPERTY = "proposalDiff.baseline";
+	private static final int HEADER_LINES = 6;
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	public void testRunnerIsSelfContained() throws IOException {
+		Path runnerDir = this.tempDir.resolve("runner");
+		ProposalDiff.extractRunner(runnerDir);
+
+		// The baseline plugin may not have any other class of this build
+		Set<String> references = new TreeSet<>();
+		try (Stream<Path> files = Files.walk(runnerDir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				if (file.toString().endsWith(".class")) {
+					collectPluginReferences(Files.readAllBytes(file), references);
+				}
+			}
+		}
+
+		Assertions.assertFalse(references.isEmpty());
+		for (String reference : references) {
+			Assertions.assertTrue(reference.startsWith(RUNNER_PACKAGE), reference + " isn't extracted with the runner");
+		}
+	}
+
+	@Test
+	public void testDiffAgainstBaseline() throws IOException, InterruptedException, URISyntaxException {
+		String baselineProperty = System.getProperty(BASELINE_PROPERTY);
+		Path baseline = baselineProperty != null ? Path.of(baselineProperty).toAbsolutePath() : this.createBaselineWithoutRunner();
+		Path output = this.tempDir.resolve("diff.txt");
+
+		List<String> command = new ArrayList<>();
+		command.add(ProcessHandle.current().info().command().orElse("java"));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(ProposalDiff.class.getName());
+		command.add(JAR.toString());
+		command.add(PROFILE.toString());
+		command.add(baseline.toString());
+		command.add(output.toString());
+
+		int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+		Assertions.assertEquals(0, exitCode);
+
+		List<String> lines = Files.readAllLines(output);
+		Assertions.assertTrue(lines.size() >= HEADER_LINES);
+		Assertions.assertEquals("# baseline: [" + baseline + "]", lines.get(0));
+
+		if (baselineProperty == null) {
+			// The same plugin, without a runner of its own, proposes the same names
+			Assertions.assertEquals(List.of(), lines.subList(HEADER_LINES, lines.size()));
+		}
+	}
+
+	/**
+	 * Copies this build of the plugin without the runner package, which builds older than the runner don't have.
+	 */
+	private Path createBaselineWithoutRunner() throws IOException, URISyntaxException {
+		Path baseline = this.tempDir.resolve("baseline");
+		Path classes = Path.of(QuiltEnigmaPlugin.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		Path resources = Path.of(ProposalDiffTest.class.getClassLoader().getResource(PLUGIN_SERVICE).toURI()).getParent().getParent().getParent();
+
+		for (Path root : List.of(classes, resources)) {
+			try (Stream<Path> files = Files.walk(root)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					String relative = root.relativize(file).toString().replace(File.separatorChar, '/');
+					if (Files.isRegularFile(file) && !relative.startsWith(RUNNER_PACKAGE)) {
+						Path destination = baseline.resolve(relative);
+						Files.createDirectories(destination.getParent());
+						Files.copy(file, destination);
+					}
+				}
+			}
+		}
+
+		return baseline;
+	}
+
+	private static void collectPluginReferences(byte[] bytes, Set<String> references) {
+		var remapper = new Remapper() {
+			@Override
+			public String map(String internalName) {
+				if (internalName.startsWith(PLUGIN_PACKAGE)) {
+					references.add(internalName);
+				}
+
+				return internalName;
+			}
+		};
+
+		new ClassReader(bytes).accept(new ClassRemapper(new ClassWriter(0), remapper), 0);
+	}
+}
@@ -16,11 +16,20 @@
 
 package org.quiltmc.enigma_plugin.index;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
+import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
 import org.tinylog.Logger;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CodecIndexTest {
 	public static void main(String[] args) {
@@ -42,6 +51,59 @@ public class CodecIndexTest {
 		dumpIndex(index);
 	}
 
+	@Test
+	public void testTestInputs() {
+		CodecIndex index = new CodecIndex();
+		IndexTestUtil.getClassNodes(IndexTestUtil.OBF_JAR).forEach(index::visitClassNode);
+
+		// Same names as the stack scan used before the def-use graph
+		var classEntry = new ClassEntry("com/a/a");
+		var recordEntry = new ClassEntry(classEntry, "a");
+		Assertions.assertEquals(Map.of(
+				field(classEntry, "c", "I"), "value",
+				field(classEntry, "d", "D"), "scale",
+				field(classEntry, "e", "Ljava/util/Optional;"), "factor",
+				field(classEntry, "b", "J"), "seed",
+				field(recordEntry, "b", "I"), "v"
+		), index.getFieldNames());
+		Assertions.assertEquals(Map.of(
+				method(classEntry, "a", "()I"), "getValue",
+				method(classEntry, "b", "()D"), "getScale",
+				method(classEntry, "c", "()Ljava/util/Optional;"), "getFactor"
+		), index.getMethodNames());
+	}
+
+	@Test
+	public void testSyntheticCodecs() {
+		CodecIndex index = new CodecIndex();
+		Map<FieldEntry, String> expectedFields = new HashMap<>();
+		Map<MethodEntry, String> expectedMethods = new HashMap<>();
+
+		for (ClassNode node : SyntheticJarGenerator.generate(60)) {
+			index.visitClassNode(node);
+
+			// Codec classes hold an int field named after the codec field, read through a getter
+			if (node.fields.stream().anyMatch(f -> f.desc.equals("Lcom/mojang/serialization/Codec;"))) {
+				var classEntry = new ClassEntry(node.name);
+				String name = "amount" + node.name.substring("synthetic/c".length());
+				expectedFields.put(field(classEntry, "c", "I"), name);
+				expectedMethods.put(method(classEntry, "b", "()I"), "getAmount" + name.substring("amount".length()));
+			}
+		}
+
+		Assertions.assertFalse(expectedFields.isEmpty());
+		Assertions.assertEquals(expectedFields, index.getFieldNames());
+		Assertions.assertEquals(expectedMethods, index.getMethodNames());
+	}
+
+	private static FieldEntry field(ClassEntry parent, String name, String desc) {
+		return new FieldEntry(parent, name, new TypeDescriptor(desc));
+	}
+
+	private static MethodEntry method(ClassEntry parent, String name, String desc) {
+		return new MethodEntry(parent, name, new MethodDescriptor(desc));
+	}
+
 	private static void dumpIndex(CodecIndex index) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("CodecIndex\n");
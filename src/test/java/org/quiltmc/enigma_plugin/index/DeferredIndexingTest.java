@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeferredIndexingTest {
+	@Test
+	public void testClassesAreCopiedBeforeHandover() {
+		List<ClassNode> nodes = SyntheticJarGenerator.generate(100);
+		var index = new RecordingIndex();
+
+		List<String> names = new ArrayList<>();
+		List<Integer> methods = new ArrayList<>();
+
+		var deferredIndexing = new DeferredIndexing(List.of(index), null);
+		for (ClassNode node : nodes) {
+			names.add(node.name);
+			methods.add(node.methods.size());
+			deferredIndexing.accept(node);
+
+			// Enigma may visit or modify its nodes again as soon as they're handed over
+			node.name = null;
+			node.methods.clear();
+		}
+
+		deferredIndexing.finish();
+		deferredIndexing.join(new RenamePropagationGraph());
+
+		Assertions.assertEquals(nodes.size(), index.visited.size());
+		for (int i = 0; i < nodes.size(); i++) {
+			var visited = index.visited.get(i);
+
+			Assertions.assertNotSame(nodes.get(i), visited);
+			Assertions.assertEquals(names.get(i), visited.name);
+			Assertions.assertEquals(methods.get(i), visited.methods.size());
+		}
+
+		Assertions.assertTrue(index.ended);
+	}
+
+	private static class RecordingIndex extends Index {
+		private final List<ClassNode> visited = new ArrayList<>();
+		private boolean ended;
+
+		RecordingIndex() {
+			super(null);
+		}
+
+		@Override
+		public void visitClassNode(ClassNode node) {
+			this.visited.add(node);
+		}
+
+		@Override
+		public void onIndexingEnded() {
+			this.ended = true;
+		}
+
+		@Override
+		public boolean isDynamicOnly() {
+			return true;
+		}
+	}
+}
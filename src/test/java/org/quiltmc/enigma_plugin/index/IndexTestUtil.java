@@ -20,10 +20,18 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 public class IndexTestUtil {
+	public static final String OBF_JAR = "build/obf/obf.jar";
+
 	public static ClassNode getClassNode(String arg) {
 		Path path = Path.of(arg);
 		ClassNode node = new ClassNode();
@@ -37,4 +45,28 @@ public class IndexTestUtil {
 
 		return node;
 	}
+
+	public static List<ClassNode> getClassNodes(String jar) {
+		List<ClassNode> nodes = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(jar)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+					continue;
+				}
+
+				try (InputStream in = zip.getInputStream(entry)) {
+					ClassNode node = new ClassNode();
+					ClassReader reader = new ClassReader(in);
+					reader.accept(node, 0);
+					nodes.add(node);
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to read jar file", e);
+		}
+
+		return nodes;
+	}
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Interpreter;
+import org.quiltmc.enigma_plugin.index.DelegateParametersIndex.LocalVariableInterpreter;
+import org.quiltmc.enigma_plugin.index.DelegateParametersIndex.LocalVariableValue;
+import org.quiltmc.enigma_plugin.util.LinearFrameSimulator;
+import org.tinylog.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures the memory allocated while computing the frames of all the methods of a jar with the
+ * {@link LocalVariableInterpreter}, compared to an interpreter allocating a new value for every operation.
+ */
+public class LocalVariableInterpreterBenchmark {
+	private static final int WARMUP_ITERATIONS = 3;
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			Logger.info("Usage: LocalVariableInterpreterBenchmark <jar> [<iterations>]");
+			System.exit(1);
+		}
+
+		List<ClassNode> nodes = IndexTestUtil.getClassNodes(args[0]);
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		long allocatingBytes = measure(nodes, new AllocatingInterpreter(), iterations);
+		long sharedBytes = measure(nodes, new LocalVariableInterpreter(), iterations);
+
+		Logger.info("LocalVariableInterpreterBenchmark\n"
+				+ "  " + nodes.size() + " classes\n"
+				+ "  allocating values: " + IndexFootprint.formatBytes(allocatingBytes) + " allocated/iteration\n"
+				+ "  shared values: " + IndexFootprint.formatBytes(sharedBytes) + " allocated/iteration\n"
+				+ "  " + String.format("%.1f", 100.0 * (allocatingBytes - sharedBytes) / allocatingBytes) + "% less allocated");
+	}
+
+	private static long measure(List<ClassNode> nodes, LocalVariableInterpreter interpreter, int iterations) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			run(nodes, interpreter);
+		}
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < iterations; i++) {
+			run(nodes, interpreter);
+		}
+
+		return (threadBean.getThreadAllocatedBytes(threadId) - startBytes) / iterations;
+	}
+
+	private static void run(List<ClassNode> nodes, Interpreter<LocalVariableValue> interpreter) {
+		var analyzer = new Analyzer<>(interpreter);
+		for (ClassNode node : nodes) {
+			for (MethodNode method : node.methods) {
+				try {
+					if (LinearFrameSimulator.isLinear(method)) {
+						LinearFrameSimulator.simulate(node.name, method, interpreter, insn -> true);
+					} else {
+						analyzer.analyze(node.name, method);
+					}
+				} catch (AnalyzerException e) {
+					Logger.error(e, "Failed to analyze method {}.{}{}", node.name, method.name, method.desc);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Allocates a new value for every operation, as the interpreter used to.
+	 */
+	private static class AllocatingInterpreter extends LocalVariableInterpreter {
+		private static LocalVariableValue copy(LocalVariableValue value) {
+			return value == null ? null : new LocalVariableValue(value.size(), value.parameter(), value.local());
+		}
+
+		@Override
+		public LocalVariableValue newValue(Type type) {
+			return copy(super.newValue(type));
+		}
+
+		@Override
+		public LocalVariableValue newParameterValue(boolean isInstanceMethod, int local, Type type) {
+			return copy(super.newParameterValue(isInstanceMethod, local, type));
+		}
+
+		@Override
+		public LocalVariableValue newEmptyValue(int local) {
+			return copy(super.newEmptyValue(local));
+		}
+
+		@Override
+		public LocalVariableValue newOperation(AbstractInsnNode insn) {
+			return copy(super.newOperation(insn));
+		}
+
+		@Override
+		public LocalVariableValue unaryOperation(AbstractInsnNode insn, LocalVariableValue value) {
+			return copy(super.unaryOperation(insn, value));
+		}
+
+		@Override
+		public LocalVariableValue binaryOperation(AbstractInsnNode insn, LocalVariableValue value1, LocalVariableValue value2) {
+			return copy(super.binaryOperation(insn, value1, value2));
+		}
+
+		@Override
+		public LocalVariableValue ternaryOperation(AbstractInsnNode insn, LocalVariableValue value1, LocalVariableValue value2, LocalVariableValue value3) {
+			return copy(super.ternaryOperation(insn, value1, value2, value3));
+		}
+
+		@Override
+		public LocalVariableValue naryOperation(AbstractInsnNode insn, List<? extends LocalVariableValue> values) {
+			return copy(super.naryOperation(insn, values));
+		}
+
+		@Override
+		public LocalVariableValue merge(LocalVariableValue value1, LocalVariableValue value2) {
+			return copy(super.merge(value1, value2));
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.tinylog.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures the time and memory allocated by the {@link RecordIndex} over all the classes of a jar.
+ */
+public class RecordIndexBenchmark {
+	private static final int WARMUP_ITERATIONS = 5;
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			Logger.info("Usage: RecordIndexBenchmark <jar> [<iterations>]");
+			System.exit(1);
+		}
+
+		List<ClassNode> nodes = IndexTestUtil.getClassNodes(args[0]);
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			run(nodes);
+		}
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		int records = 0;
+
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			records = run(nodes);
+		}
+
+		long time = System.nanoTime() - start;
+		long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+		Logger.info("RecordIndexBenchmark\n"
+				+ "  " + nodes.size() + " classes, " + records + " records\n"
+				+ "  " + String.format("%.3f", time / 1_000_000.0 / iterations) + " ms/iteration\n"
+				+ "  " + bytes / iterations + " bytes allocated/iteration");
+	}
+
+	private static int run(List<ClassNode> nodes) {
+		RecordIndex index = new RecordIndex();
+		for (ClassNode node : nodes) {
+			index.visitClassNode(node);
+		}
+
+		return index.getRecordClasses().size();
+	}
+}
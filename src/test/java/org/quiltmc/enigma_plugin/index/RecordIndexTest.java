@@ -16,6 +16,10 @@
 
 package org.quiltmc.enigma_plugin.index;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
 import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
 import org.objectweb.asm.tree.ClassNode;
@@ -39,6 +43,26 @@ public class RecordIndexTest {
 		dumpIndex(index);
 	}
 
+	@Test
+	public void testGetComponentField() {
+		var record = new ClassEntry("a");
+		var first = new FieldEntry(record, "a", new TypeDescriptor("I"));
+		var second = new FieldEntry(record, "b", new TypeDescriptor("J"));
+		// Obfuscators may give fields of different types the same name
+		var shared = new FieldEntry(record, "a", new TypeDescriptor("Ljava/lang/String;"));
+
+		var data = new RecordIndex.RecordComponentData();
+		data.add(first, "count");
+		data.add(second, "seed");
+		data.add(shared, "name");
+
+		Assertions.assertSame(first, data.getComponentField("a", "I"));
+		Assertions.assertSame(second, data.getComponentField("b", "J"));
+		Assertions.assertSame(shared, data.getComponentField("a", "Ljava/lang/String;"));
+		Assertions.assertNull(data.getComponentField("a", "J"));
+		Assertions.assertNull(data.getComponentField("c", "I"));
+	}
+
 	private static void dumpIndex(RecordIndex index) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("RecordIndex\n");
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.translation.mapping.IndexEntryResolver;
+import org.quiltmc.enigma.api.translation.mapping.ResolutionStrategy;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+import org.quiltmc.enigma_plugin.util.AsmUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class RootMethodResolverTest implements Opcodes {
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile.json");
+	private static JarIndex jarIndex;
+
+	@BeforeAll
+	public static void setupEnigma() throws IOException {
+		var profile = EnigmaProfile.read(PROFILE);
+		var enigma = Enigma.builder().setProfile(profile).build();
+
+		var project = enigma.openJar(Path.of(IndexTestUtil.OBF_JAR), new ClasspathClassProvider(), ProgressListener.createEmpty());
+		jarIndex = project.getJarIndex();
+	}
+
+	@Test
+	public void testTestInputs() {
+		var rootMethods = new RootMethodResolver(jarIndex);
+		var entryResolver = new IndexEntryResolver(jarIndex);
+		int roots = 0;
+
+		for (ClassNode node : IndexTestUtil.getClassNodes(IndexTestUtil.OBF_JAR)) {
+			for (MethodNode method : node.methods) {
+				// DelegateParametersIndex used to only index the methods resolving to themselves
+				var entry = MethodEntry.parse(node.name, method.name, method.desc);
+				var resolved = entryResolver.resolveEntry(entry, ResolutionStrategy.RESOLVE_ROOT);
+				boolean expected = resolved.size() == 1 && resolved.contains(entry);
+
+				Assertions.assertEquals(expected, rootMethods.isRoot(entry, AsmUtil.matchAccess(method, ACC_PRIVATE)), entry.toString());
+				if (expected) {
+					roots++;
+				}
+			}
+		}
+
+		Assertions.assertTrue(roots > 0);
+	}
+}
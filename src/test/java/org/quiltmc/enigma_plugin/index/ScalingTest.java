@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.class_provider.ClassProvider;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.class_provider.ProjectClassProvider;
+import org.quiltmc.enigma.api.service.JarIndexerService;
+import org.quiltmc.enigma_plugin.cli.HeapPeakMonitor;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks that indexing {@linkplain SyntheticJarGenerator synthetic classes} scales near-linearly with the number of
+ * classes, in both time and retained heap, by indexing a small and a scaled up set of classes through
+ * {@link JarIndexer#acceptJar}, with every index enabled by the test profile.
+ *
+ * <p>
+ * The time and heap are measured in-process, so the allowed growth is loose: it only catches indexing becoming
+ * superlinear, not small regressions. As it still depends on the machine and its load, it's excluded from the
+ * {@code test} task, and run by the {@code scalingTest} task instead.
+ */
+@Tag("scaling")
+public class ScalingTest {
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile.json");
+	private static final int CLASSES = 2000;
+	private static final int SCALE = 4;
+	private static final int RUNS = 3;
+	// Allowed growth of the time and retained heap per class between the small and the large set
+	private static final double MAX_TIME_GROWTH = 2.5;
+	private static final double MAX_MEMORY_GROWTH = 1.5;
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	public void testScaling() throws IOException {
+		Measurement small = this.measure(CLASSES);
+		Measurement large = this.measure(CLASSES * SCALE);
+
+		double timeGrowth = large.nanosPerClass() / small.nanosPerClass();
+		double memoryGrowth = large.bytesPerClass() / small.bytesPerClass();
+
+		Logger.info("ScalingTest\n"
+				+ "  " + small + "\n"
+				+ "  " + large + "\n"
+				+ "  " + String.format("%.2fx time/class, %.2fx memory/class", timeGrowth, memoryGrowth));
+
+		Assertions.assertTrue(timeGrowth <= MAX_TIME_GROWTH, String.format("Indexing time per class grew by %.2fx", timeGrowth));
+		Assertions.assertTrue(memoryGrowth <= MAX_MEMORY_GROWTH, String.format("Retained heap per class grew by %.2fx", memoryGrowth));
+	}
+
+	private Measurement measure(int classes) throws IOException {
+		List<ClassNode> nodes = SyntheticJarGenerator.generate(classes);
+		Path jar = this.tempDir.resolve("synthetic_" + classes + ".jar");
+		SyntheticJarGenerator.writeJar(nodes, jar);
+
+		// Opening the jar builds the jar index of Enigma, which some indexes read
+		var profile = EnigmaProfile.read(PROFILE);
+		var enigma = Enigma.builder().setProfile(profile).build();
+		var project = enigma.openJar(jar, new ClasspathClassProvider(), ProgressListener.createEmpty());
+		JarIndex jarIndex = project.getJarIndex();
+
+		var indexer = enigma.getServices().get(JarIndexerService.TYPE).stream()
+				.filter(JarIndexer.class::isInstance)
+				.map(JarIndexer.class::cast)
+				.findFirst().orElseThrow();
+
+		// The classes are read from memory, so that the time doesn't include reading the jar
+		var mainProvider = new NodeClassProvider(nodes);
+		var classProvider = new ProjectClassProvider(mainProvider, new ClasspathClassProvider());
+		Set<String> scope = Set.copyOf(mainProvider.getClassNames());
+
+		// Warm up, so that the indexes aren't measured while interpreted
+		long bestNanos = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS * 2; i++) {
+			long start = System.nanoTime();
+			index(indexer, scope, classProvider, jarIndex);
+			long nanos = System.nanoTime() - start;
+
+			if (i >= RUNS) {
+				bestNanos = Math.min(bestNanos, nanos);
+			}
+		}
+
+		// Retained heap of the indexes, from empty indexes to indexes built from the whole jar
+		index(indexer, Set.of(), classProvider, jarIndex);
+		long baseline = getRetainedHeap();
+		index(indexer, scope, classProvider, jarIndex);
+		long bytes = getRetainedHeap() - baseline;
+
+		return new Measurement(classes, bestNanos, bytes);
+	}
+
+	private static void index(JarIndexer indexer, Set<String> scope, ProjectClassProvider classProvider, JarIndex jarIndex) {
+		indexer.acceptJar(scope, classProvider, jarIndex);
+		indexer.awaitDeferredIndexing();
+	}
+
+	private static long getRetainedHeap() {
+		// A single collection may leave garbage promoted during it
+		System.gc();
+		System.gc();
+		return HeapPeakMonitor.getHeapUsage();
+	}
+
+	private static class NodeClassProvider implements ClassProvider {
+		private final Map<String, ClassNode> nodes = new HashMap<>();
+
+		NodeClassProvider(List<ClassNode> nodes) {
+			for (ClassNode node : nodes) {
+				this.nodes.put(node.name, node);
+			}
+		}
+
+		@Override
+		public Collection<String> getClassNames() {
+			return this.nodes.keySet();
+		}
+
+		@Override
+		public ClassNode get(String name) {
+			return this.nodes.get(name);
+		}
+	}
+
+	private record Measurement(int classes, long nanos, long bytes) {
+		double nanosPerClass() {
+			return (double) this.nanos / this.classes;
+		}
+
+		double bytesPerClass() {
+			return (double) this.bytes / this.classes;
+		}
+
+		@Override
+		public String toString() {
+			return this.classes + " classes: " + String.format("%.3f ms, %.1f us/class, ", this.nanos / 1_000_000.0, this.nanosPerClass() / 1000)
+					+ IndexFootprint.formatBytes(this.bytes) + String.format(" retained, %.0f bytes/class", this.bytesPerClass());
+		}
+	}
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.index;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates obfuscated-looking classes in bulk, covering the patterns read by the indexes: records, enums and
+ * {@code <clinit>} registries, DFU codec builders, getter/setter beans, delegate chains and simple type fields.
+ *
+ * <p>
+ * Every generated class is one of these kinds, in turn, so any number of classes has a similar mix of them.
+ * The classes reference a few shared support classes, and DFU classes that aren't generated.
+ */
+public class SyntheticJarGenerator implements Opcodes {
+	private static final String PACKAGE = "synthetic/";
+	private static final String ITEM = PACKAGE + "Item";
+	private static final List<String> SIMPLE_TYPES = List.of(PACKAGE + "Identifier", PACKAGE + "BlockPos", PACKAGE + "World");
+	private static final String CODEC = "com/mojang/serialization/Codec";
+	private static final String MAP_CODEC = "com/mojang/serialization/MapCodec";
+	private static final String RECORD_CODEC_BUILDER = "com/mojang/serialization/codecs/RecordCodecBuilder";
+	private static final String INSTANCE = RECORD_CODEC_BUILDER + "$Instance";
+	private static final Handle LAMBDA_METAFACTORY = new Handle(H_INVOKESTATIC, "java/lang/invoke/LambdaMetafactory", "metafactory",
+			"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;",
+			false);
+	private static final int KINDS = 6;
+	private static final int DELEGATE_CHAIN_LENGTH = 4;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			Logger.info("Usage: SyntheticJarGenerator <output jar> <classes>");
+			System.exit(1);
+		}
+
+		List<ClassNode> nodes = generate(Integer.parseInt(args[1]));
+		writeJar(nodes, Path.of(args[0]));
+		Logger.info("Generated " + nodes.size() + " classes into " + args[0]);
+	}
+
+	/**
+	 * Generates the given number of classes, along with the support classes they use.
+	 *
+	 * @param classes the number of classes
+	 * @return the class nodes
+	 */
+	public static List<ClassNode> generate(int classes) {
+		List<ClassNode> nodes = new ArrayList<>(classes + SIMPLE_TYPES.size() + 1);
+		nodes.add(supportClass(ITEM));
+		SIMPLE_TYPES.forEach(type -> nodes.add(supportClass(type)));
+
+		for (int i = 0; i < classes; i++) {
+			String name = PACKAGE + "c" + i;
+			ClassNode node = switch (i % KINDS) {
+				case 0 -> record(name);
+				case 1 -> enumRegistry(name, i);
+				case 2 -> codec(name, i);
+				case 3 -> bean(name);
+				case 4 -> delegateChain(name);
+				default -> simpleTypeFields(name);
+			};
+			nodes.add(node);
+		}
+
+		return nodes;
+	}
+
+	public static void writeJar(List<ClassNode> nodes, Path jar) throws IOException {
+		try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+			for (ClassNode node : nodes) {
+				var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+				node.accept(writer);
+
+				jarOut.putNextEntry(new JarEntry(node.name + ".class"));
+				jarOut.write(writer.toByteArray());
+				jarOut.closeEntry();
+			}
+		}
+	}
+
+	private static ClassNode newClass(int access, String name, String superName) {
+		var node = new ClassNode();
+		node.visit(V17, access, name, null, superName, null);
+		return node;
+	}
+
+	private static ClassNode supportClass(String name) {
+		var node = newClass(ACC_PUBLIC, name, "java/lang/Object");
+		defaultConstructor(node, "java/lang/Object");
+		return node;
+	}
+
+	private static void defaultConstructor(ClassNode node, String superName) {
+		var method = node.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		method.visitVarInsn(ALOAD, 0);
+		method.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+		method.visitInsn(RETURN);
+		method.visitMaxs(1, 1);
+	}
+
+	private static void getter(ClassNode node, String name, String field, String desc) {
+		var method = node.visitMethod(ACC_PUBLIC, name, "()" + desc, null, null);
+		method.visitVarInsn(ALOAD, 0);
+		method.visitFieldInsn(GETFIELD, node.name, field, desc);
+		method.visitInsn(Type.getType(desc).getOpcode(IRETURN));
+		method.visitMaxs(2, 1);
+	}
+
+	// record c(int a, String b)
+	private static ClassNode record(String name) {
+		var node = newClass(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_RECORD, name, "java/lang/Record");
+		String[][] components = {{"a", "I"}, {"b", "Ljava/lang/String;"}};
+
+		var constructor = node.visitMethod(ACC_PUBLIC, "<init>", "(ILjava/lang/String;)V", null, null);
+		constructor.visitVarInsn(ALOAD, 0);
+		constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Record", "<init>", "()V", false);
+
+		int local = 1;
+		for (String[] component : components) {
+			node.visitRecordComponent(component[0], component[1], null);
+			node.visitField(ACC_PRIVATE | ACC_FINAL, component[0], component[1], null, null);
+			getter(node, component[0], component[0], component[1]);
+
+			constructor.visitVarInsn(ALOAD, 0);
+			constructor.visitVarInsn(Type.getType(component[1]).getOpcode(ILOAD), local++);
+			constructor.visitFieldInsn(PUTFIELD, name, component[0], component[1]);
+		}
+
+		constructor.visitInsn(RETURN);
+		constructor.visitMaxs(2, 3);
+		return node;
+	}
+
+	// enum c { FIRST, SECOND } with static final Item fields registered by name
+	private static ClassNode enumRegistry(String name, int index) {
+		var node = newClass(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_ENUM, name, "java/lang/Enum");
+		String desc = "L" + name + ";";
+		String[] constants = {"FIRST", "SECOND"};
+
+		var constructor = node.visitMethod(ACC_PRIVATE, "<init>", "(Ljava/lang/String;I)V", null, null);
+		constructor.visitVarInsn(ALOAD, 0);
+		constructor.visitVarInsn(ALOAD, 1);
+		constructor.visitVarInsn(ILOAD, 2);
+		constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Enum", "<init>", "(Ljava/lang/String;I)V", false);
+		constructor.visitInsn(RETURN);
+		constructor.visitMaxs(3, 3);
+
+		var register = node.visitMethod(ACC_PRIVATE | ACC_STATIC, "a", "(Ljava/lang/String;L" + ITEM + ";)L" + ITEM + ";", null, null);
+		register.visitVarInsn(ALOAD, 1);
+		register.visitInsn(ARETURN);
+		register.visitMaxs(1, 2);
+
+		var clinit = node.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+		for (int i = 0; i < constants.length; i++) {
+			String field = String.valueOf((char) ('a' + i));
+			node.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL | ACC_ENUM, field, desc, null, null);
+
+			clinit.visitTypeInsn(NEW, name);
+			clinit.visitInsn(DUP);
+			clinit.visitLdcInsn(constants[i]);
+			clinit.visitLdcInsn(i);
+			clinit.visitMethodInsn(INVOKESPECIAL, name, "<init>", "(Ljava/lang/String;I)V", false);
+			clinit.visitFieldInsn(PUTSTATIC, name, field, desc);
+		}
+
+		for (int i = 0; i < 3; i++) {
+			String field = "r" + i;
+			node.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, field, "L" + ITEM + ";", null, null);
+
+			clinit.visitLdcInsn("item_" + index + "_" + i);
+			clinit.visitTypeInsn(NEW, ITEM);
+			clinit.visitInsn(DUP);
+			clinit.visitMethodInsn(INVOKESPECIAL, ITEM, "<init>", "()V", false);
+			clinit.visitMethodInsn(INVOKESTATIC, name, "a", "(Ljava/lang/String;L" + ITEM + ";)L" + ITEM + ";", false);
+			clinit.visitFieldInsn(PUTSTATIC, name, field, "L" + ITEM + ";");
+		}
+
+		clinit.visitInsn(RETURN);
+		clinit.visitMaxs(4, 0);
+		return node;
+	}
+
+	// class c { static final Codec<c> a = RecordCodecBuilder.create(i -> i.group(Codec.INT.fieldOf("...").forGetter(c::b))...) }
+	private static ClassNode codec(String name, int index) {
+		var node = newClass(ACC_PUBLIC | ACC_SUPER, name, "java/lang/Object");
+		defaultConstructor(node, "java/lang/Object");
+		node.visitField(ACC_PRIVATE, "c", "I", null, null);
+		getter(node, "b", "c", "I");
+		node.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "a", "L" + CODEC + ";", null, null);
+
+		String lambdaDesc = "(L" + INSTANCE + ";)Lcom/mojang/datafixers/kinds/App;";
+		var lambda = node.visitMethod(ACC_PRIVATE | ACC_STATIC | ACC_SYNTHETIC, "lambda$static$0", lambdaDesc, null, null);
+		lambda.visitVarInsn(ALOAD, 0);
+		lambda.visitFieldInsn(GETSTATIC, CODEC, "INT", "Lcom/mojang/serialization/codecs/PrimitiveCodec;");
+		lambda.visitLdcInsn("amount" + index);
+		lambda.visitMethodInsn(INVOKEINTERFACE, CODEC, "fieldOf", "(Ljava/lang/String;)L" + MAP_CODEC + ";", true);
+		lambda.visitInvokeDynamicInsn("apply", "()Ljava/util/function/Function;", LAMBDA_METAFACTORY,
+				Type.getType("(Ljava/lang/Object;)Ljava/lang/Object;"),
+				new Handle(H_INVOKEVIRTUAL, name, "b", "()I", false),
+				Type.getType("(L" + name + ";)Ljava/lang/Integer;"));
+		lambda.visitMethodInsn(INVOKEVIRTUAL, MAP_CODEC, "forGetter", "(Ljava/util/function/Function;)L" + RECORD_CODEC_BUILDER + ";", false);
+		lambda.visitMethodInsn(INVOKEVIRTUAL, INSTANCE, "group", "(Lcom/mojang/datafixers/kinds/App;)Lcom/mojang/datafixers/Products$P1;", false);
+		lambda.visitInsn(ARETURN);
+		lambda.visitMaxs(4, 1);
+
+		var clinit = node.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+		clinit.visitInvokeDynamicInsn("apply", "()Ljava/util/function/Function;", LAMBDA_METAFACTORY,
+				Type.getType("(Ljava/lang/Object;)Ljava/lang/Object;"),
+				new Handle(H_INVOKESTATIC, name, "lambda$static$0", lambdaDesc, false),
+				Type.getType(lambdaDesc));
+		clinit.visitMethodInsn(INVOKESTATIC, RECORD_CODEC_BUILDER, "create", "(Ljava/util/function/Function;)L" + CODEC + ";", false);
+		clinit.visitFieldInsn(PUTSTATIC, name, "a", "L" + CODEC + ";");
+		clinit.visitInsn(RETURN);
+		clinit.visitMaxs(1, 0);
+		return node;
+	}
+
+	// class c { int a; String b; with getters, setters, a constructor assigning both fields, and equals }
+	private static ClassNode bean(String name) {
+		var node = newClass(ACC_PUBLIC | ACC_SUPER, name, "java/lang/Object");
+		String[][] fields = {{"a", "I", "c"}, {"b", "Ljava/lang/String;", "d"}};
+
+		var constructor = node.visitMethod(ACC_PUBLIC, "<init>", "(ILjava/lang/String;)V", null, null);
+		constructor.visitVarInsn(ALOAD, 0);
+		constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+		int local = 1;
+		for (String[] field : fields) {
+			node.visitField(ACC_PRIVATE, field[0], field[1], null, null);
+			getter(node, field[2], field[0], field[1]);
+
+			var setter = node.visitMethod(ACC_PUBLIC, field[2], "(" + field[1] + ")V", null, null);
+			setter.visitVarInsn(ALOAD, 0);
+			setter.visitVarInsn(Type.getType(field[1]).getOpcode(ILOAD), 1);
+			setter.visitFieldInsn(PUTFIELD, name, field[0], field[1]);
+			setter.visitInsn(RETURN);
+			setter.visitMaxs(2, 2);
+
+			constructor.visitVarInsn(ALOAD, 0);
+			constructor.visitVarInsn(Type.getType(field[1]).getOpcode(ILOAD), local++);
+			constructor.visitFieldInsn(PUTFIELD, name, field[0], field[1]);
+		}
+
+		constructor.visitInsn(RETURN);
+		constructor.visitMaxs(2, 3);
+
+		var equals = node.visitMethod(ACC_PUBLIC, "equals", "(Ljava/lang/Object;)Z", null, null);
+		equals.visitVarInsn(ALOAD, 0);
+		equals.visitVarInsn(ALOAD, 1);
+		Label different = new Label();
+		equals.visitJumpInsn(IF_ACMPNE, different);
+		equals.visitInsn(ICONST_1);
+		equals.visitInsn(IRETURN);
+		equals.visitLabel(different);
+		equals.visitInsn(ICONST_0);
+		equals.visitInsn(IRETURN);
+		equals.visitMaxs(2, 2);
+		return node;
+	}
+
+	// class c { void a(int, String) { this.b(...); } ... void d(int count, String label) { } }, the last method keeping its parameter names
+	private static ClassNode delegateChain(String name) {
+		var node = newClass(ACC_PUBLIC | ACC_SUPER, name, "java/lang/Object");
+		defaultConstructor(node, "java/lang/Object");
+		String desc = "(ILjava/lang/String;)V";
+
+		for (int i = 0; i < DELEGATE_CHAIN_LENGTH; i++) {
+			String method = String.valueOf((char) ('a' + i));
+			MethodVisitor visitor = node.visitMethod(ACC_PUBLIC, method, desc, null, null);
+
+			if (i < DELEGATE_CHAIN_LENGTH - 1) {
+				visitor.visitVarInsn(ALOAD, 0);
+				visitor.visitVarInsn(ILOAD, 1);
+				visitor.visitVarInsn(ALOAD, 2);
+				visitor.visitMethodInsn(INVOKEVIRTUAL, name, String.valueOf((char) ('a' + i + 1)), desc, false);
+				visitor.visitInsn(RETURN);
+			} else {
+				Label start = new Label();
+				Label end = new Label();
+				visitor.visitLabel(start);
+				visitor.visitInsn(RETURN);
+				visitor.visitLabel(end);
+				visitor.visitLocalVariable("this", "L" + name + ";", null, start, end, 0);
+				visitor.visitLocalVariable("count", "I", null, start, end, 1);
+				visitor.visitLocalVariable("label", "Ljava/lang/String;", null, start, end, 2);
+			}
+
+			visitor.visitMaxs(3, 3);
+		}
+
+		return node;
+	}
+
+	// class c { Identifier a; BlockPos b; World c; static void d(Identifier, World) }
+	private static ClassNode simpleTypeFields(String name) {
+		var node = newClass(ACC_PUBLIC | ACC_SUPER, name, "java/lang/Object");
+		defaultConstructor(node, "java/lang/Object");
+
+		for (int i = 0; i < SIMPLE_TYPES.size(); i++) {
+			node.visitField(ACC_PRIVATE, String.valueOf((char) ('a' + i)), "L" + SIMPLE_TYPES.get(i) + ";", null, null);
+		}
+
+		var method = node.visitMethod(ACC_PUBLIC | ACC_STATIC, "d", "(L" + SIMPLE_TYPES.get(0) + ";L" + SIMPLE_TYPES.get(2) + ";)V", null, null);
+		method.visitInsn(RETURN);
+		method.visitMaxs(0, 2);
+		return node;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.service.NameProposalService;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.MethodDescriptor;
+import org.quiltmc.enigma.api.translation.representation.TypeDescriptor;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma.api.translation.representation.entry.FieldEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.LocalVariableEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.MethodEntry;
+import org.quiltmc.enigma_plugin.proposal.NameProposerService.Rename;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DynamicProposalBatchTest {
+	private static final Path JAR = Path.of("build/obf/obf.jar");
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile.json");
+
+	@Test
+	public void testBatchMatchesSequentialRenames() throws IOException {
+		var counter = new ClassEntry("com/a/c$a");
+		var counterParameter = localVar(method(counter, "<init>", "(I)V"), 1);
+		var delegateParameter = localVar(method(new ClassEntry("com/a/b$a"), "<init>", "(IJI)V"), 2);
+		var getterSetterField = field(new ClassEntry("com/a/c"), "a", "I");
+		var conflictField = field(new ClassEntry("com/a/c/a"), "a", "I");
+
+		// Renames reaching the same entries, renaming the same entry twice, unnaming entries and causing a conflict
+		List<Map.Entry<Entry<?>, EntryMapping>> renames = List.of(
+				Map.entry(counterParameter, new EntryMapping("amount")),
+				Map.entry(getterSetterField, new EntryMapping("silliness")),
+				Map.entry(delegateParameter, new EntryMapping("silly")),
+				Map.entry(counterParameter, new EntryMapping("total")),
+				Map.entry(conflictField, new EntryMapping("id")),
+				Map.entry(delegateParameter, EntryMapping.OBFUSCATED),
+				Map.entry(getterSetterField, EntryMapping.OBFUSCATED)
+		);
+
+		var sequential = openProject();
+		Set<Entry<?>> entries = new HashSet<>();
+		for (var rename : renames) {
+			var oldMapping = sequential.remapper().getMapping(rename.getKey());
+			putMapping(sequential.remapper(), rename.getKey(), rename.getValue());
+
+			var proposedNames = sequential.service().getDynamicProposedNames(sequential.remapper(), rename.getKey(), oldMapping, rename.getValue());
+			insertProposedNames(sequential.remapper(), proposedNames);
+			entries.addAll(proposedNames.keySet());
+		}
+
+		var batch = openProject();
+		List<Rename> batchRenames = new ArrayList<>();
+		for (var rename : renames) {
+			batchRenames.add(new Rename(rename.getKey(), batch.remapper().getMapping(rename.getKey()), rename.getValue()));
+			putMapping(batch.remapper(), rename.getKey(), rename.getValue());
+		}
+
+		var proposedNames = batch.service().getDynamicProposedNames(batch.remapper(), batchRenames);
+		insertProposedNames(batch.remapper(), proposedNames);
+
+		// The batch proposes names for every entry reached by any of the renames
+		Assertions.assertEquals(entries, proposedNames.keySet());
+		Assertions.assertTrue(entries.contains(localVar(method(counter, "b", "(I)V"), 1)));
+
+		for (var rename : renames) {
+			entries.add(rename.getKey());
+		}
+
+		for (Entry<?> entry : entries) {
+			Assertions.assertEquals(sequential.remapper().getMapping(entry), batch.remapper().getMapping(entry), entry.toString());
+		}
+	}
+
+	private static TestProject openProject() throws IOException {
+		var profile = EnigmaProfile.read(PROFILE);
+		var enigma = Enigma.builder().setProfile(profile).build();
+
+		var project = enigma.openJar(JAR, new ClasspathClassProvider(), ProgressListener.createEmpty());
+		var remapper = project.getRemapper();
+		remapper.insertDynamicallyProposedMappings(null, null, null);
+
+		var service = enigma.getServices().get(NameProposalService.TYPE).stream()
+				.filter(DefaultProposalService.class::isInstance)
+				.map(DefaultProposalService.class::cast)
+				.findFirst().orElseThrow();
+		return new TestProject(remapper, service);
+	}
+
+	// Bypasses putMapping, so that the proposals are computed by the test
+	private static void putMapping(EntryRemapper remapper, Entry<?> entry, EntryMapping mapping) {
+		if (mapping.targetName() != null) {
+			remapper.getMappings().insert(entry, mapping);
+		} else {
+			remapper.getMappings().remove(entry);
+		}
+	}
+
+	private static void insertProposedNames(EntryRemapper remapper, Map<Entry<?>, EntryMapping> proposedNames) {
+		proposedNames.forEach((entry, mapping) -> {
+			if (mapping != null) {
+				remapper.getProposedMappings().insert(entry, mapping);
+			} else {
+				remapper.getProposedMappings().remove(entry);
+			}
+		});
+	}
+
+	private static FieldEntry field(ClassEntry parent, String name, String desc) {
+		return new FieldEntry(parent, name, new TypeDescriptor(desc));
+	}
+
+	private static MethodEntry method(ClassEntry parent, String name, String desc) {
+		return new MethodEntry(parent, name, new MethodDescriptor(desc));
+	}
+
+	private static LocalVariableEntry localVar(MethodEntry parent, int index) {
+		return new LocalVariableEntry(parent, index);
+	}
+
+	private record TestProject(EntryRemapper remapper, DefaultProposalService service) {
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.mapping.EntryRemapper;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.proposal.NameProposerService.Rename;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DynamicProposalQueueTest {
+	@Test
+	public void testCoalescingAndOrder() {
+		var a = new ClassEntry("a");
+		var b = new ClassEntry("b");
+		var c = new ClassEntry("c");
+		var a0 = new EntryMapping("a0");
+		var a1 = new EntryMapping("a1");
+		var a2 = new EntryMapping("a2");
+		var b0 = new EntryMapping("b0");
+		var b1 = new EntryMapping("b1");
+		var c0 = new EntryMapping("c0");
+		var c1 = new EntryMapping("c1");
+		var c2 = new EntryMapping("c2");
+
+		var lock = new Object();
+		var service = new RecordingService(lock);
+		List<Map<Entry<?>, EntryMapping>> published = new ArrayList<>();
+
+		try (var queue = service.createDynamicProposalQueue(null, lock, published::add)) {
+			// The background thread waits for the lock, so these renames all end up in the same batch
+			synchronized (lock) {
+				queue.submit(a, a0, a1);
+				queue.submit(b, b0, b1);
+				queue.submit(a, a1, a2);
+				queue.submit(c, c0, c1);
+			}
+
+			queue.flush();
+			queue.submit(c, c1, c2);
+			queue.flush();
+
+			Assertions.assertEquals(5, queue.getSubmittedRenames());
+			Assertions.assertEquals(1, queue.getCoalescedRenames());
+			Assertions.assertEquals(2, queue.getPublishedBatches());
+		}
+
+		// The coalesced rename keeps the first old mapping, and moves after the renames submitted before it
+		Assertions.assertEquals(List.of(
+				List.of(new Rename(b, b0, b1), new Rename(a, a0, a2), new Rename(c, c0, c1)),
+				List.of(new Rename(c, c1, c2))
+		), service.batches);
+		Assertions.assertTrue(service.locked);
+
+		Assertions.assertEquals(2, published.size());
+		Assertions.assertEquals(List.of(b, a, c), List.copyOf(published.get(0).keySet()));
+		Assertions.assertEquals(a2, published.get(0).get(a));
+		Assertions.assertEquals(Map.of(c, c2), published.get(1));
+	}
+
+	private static class RecordingService extends NameProposerService {
+		private final Object lock;
+		private final List<List<Rename>> batches = new ArrayList<>();
+		private boolean locked = true;
+
+		RecordingService(Object lock) {
+			this.lock = lock;
+		}
+
+		@Override
+		public Map<Entry<?>, EntryMapping> getDynamicProposedNames(EntryRemapper remapper, Collection<Rename> renames) {
+			this.batches.add(List.copyOf(renames));
+			this.locked &= Thread.holdsLock(this.lock);
+
+			Map<Entry<?>, EntryMapping> proposedNames = new LinkedHashMap<>();
+			for (Rename rename : renames) {
+				proposedNames.put(rename.obfEntry(), rename.newMapping());
+			}
+
+			return proposedNames;
+		}
+
+		@Override
+		public String getId() {
+			return "test";
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.analysis.index.jar.JarIndex;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.representation.entry.ClassEntry;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NameProposerServiceTest {
+	private static final int ENTRIES = 500;
+	private static final int PROPOSERS = 8;
+
+	@Test
+	public void testConcurrentProposalsMergeInOrder() {
+		List<Entry<?>> entries = new ArrayList<>(ENTRIES);
+		for (int i = 0; i < ENTRIES; i++) {
+			entries.add(new ClassEntry("c" + i));
+		}
+
+		// Concurrent and sequential proposers proposing overlapping entries, including null proposals
+		List<NameProposer> proposers = new ArrayList<>(PROPOSERS);
+		for (int i = 0; i < PROPOSERS; i++) {
+			proposers.add(new TestProposer(i, i % 3 != 2, entries));
+		}
+
+		var service = new TestService(proposers);
+		for (int run = 0; run < 20; run++) {
+			Map<Entry<?>, EntryMapping> expected = new HashMap<>();
+			for (NameProposer proposer : proposers) {
+				proposer.insertProposedNames(null, null, expected);
+			}
+
+			Map<Entry<?>, EntryMapping> proposedNames = new HashMap<>();
+			service.insertProposedNames(null, null, proposedNames);
+
+			Assertions.assertEquals(expected, proposedNames);
+		}
+	}
+
+	private static class TestProposer extends NameProposer {
+		private final int index;
+		private final boolean concurrent;
+		private final List<Entry<?>> entries;
+
+		TestProposer(int index, boolean concurrent, List<Entry<?>> entries) {
+			super("test_" + index);
+			this.index = index;
+			this.concurrent = concurrent;
+			this.entries = entries;
+		}
+
+		@Override
+		public boolean canProposeConcurrently() {
+			return this.concurrent;
+		}
+
+		@Override
+		public void insertProposedNames(Enigma enigma, JarIndex index, Map<Entry<?>, EntryMapping> mappings) {
+			for (int i = 0; i < this.entries.size(); i++) {
+				if (i % (this.index + 2) == 0) {
+					this.insertProposal(mappings, this.entries.get(i), i % 7 == 0 ? null : "name" + this.index);
+				}
+			}
+		}
+	}
+
+	private static class TestService extends NameProposerService {
+		TestService(List<NameProposer> proposers) {
+			proposers.forEach(proposer -> this.add(null, indexer -> proposer));
+		}
+
+		@Override
+		public String getId() {
+			return "test";
+		}
+	}
+}
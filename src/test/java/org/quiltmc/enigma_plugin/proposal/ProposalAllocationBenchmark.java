@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.index.IndexFootprint;
+import org.quiltmc.enigma_plugin.index.IndexTestUtil;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.LoggerIndex;
+import org.quiltmc.enigma_plugin.index.StructureIndex;
+import org.tinylog.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the memory allocated by the equals and logger proposers over all the classes of a jar,
+ * along with the number of mapping instances shared by their proposals.
+ */
+public class ProposalAllocationBenchmark {
+	private static final int WARMUP_ITERATIONS = 5;
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			Logger.info("Usage: ProposalAllocationBenchmark <jar> [<iterations>]");
+			System.exit(1);
+		}
+
+		List<ClassNode> nodes = IndexTestUtil.getClassNodes(args[0]);
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		var indexer = new JarIndexer();
+		var structureIndex = indexer.getIndex(StructureIndex.class);
+		var loggerIndex = indexer.getIndex(LoggerIndex.class);
+		for (ClassNode node : nodes) {
+			structureIndex.visitClassNode(node);
+			loggerIndex.visitClassNode(node);
+		}
+
+		List<NameProposer> proposers = List.of(new EqualsNameProposer(indexer), new LoggerNameProposer(indexer));
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			run(proposers);
+		}
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		Map<Entry<?>, EntryMapping> mappings = Map.of();
+
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < iterations; i++) {
+			mappings = run(proposers);
+		}
+
+		long bytes = (threadBean.getThreadAllocatedBytes(threadId) - startBytes) / iterations;
+
+		Set<EntryMapping> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		instances.addAll(mappings.values());
+
+		Logger.info("ProposalAllocationBenchmark\n"
+				+ "  " + nodes.size() + " classes, " + mappings.size() + " proposals, " + instances.size() + " mapping instances\n"
+				+ "  " + IndexFootprint.formatBytes(bytes) + " allocated/iteration");
+	}
+
+	private static Map<Entry<?>, EntryMapping> run(List<NameProposer> proposers) {
+		Map<Entry<?>, EntryMapping> mappings = new HashMap<>();
+		for (NameProposer proposer : proposers) {
+			proposer.insertProposedNames(null, null, mappings);
+		}
+
+		return mappings;
+	}
+}
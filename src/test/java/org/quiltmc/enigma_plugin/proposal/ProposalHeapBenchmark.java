@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.quiltmc.enigma.api.translation.mapping.EntryMapping;
+import org.quiltmc.enigma.api.translation.representation.entry.Entry;
+import org.quiltmc.enigma_plugin.cli.HeapPeakMonitor;
+import org.quiltmc.enigma_plugin.index.CodecIndex;
+import org.quiltmc.enigma_plugin.index.Index;
+import org.quiltmc.enigma_plugin.index.IndexTestUtil;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+import org.quiltmc.enigma_plugin.index.LoggerIndex;
+import org.quiltmc.enigma_plugin.index.RecordIndex;
+import org.quiltmc.enigma_plugin.index.StructureIndex;
+import org.quiltmc.enigma_plugin.index.SyntheticJarGenerator;
+import org.quiltmc.enigma_plugin.index.constant_fields.ConstantFieldIndex;
+import org.tinylog.Logger;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Measures the peak heap used by the names proposed from a jar, until they're stored in a consumer's own map:
+ * either returned by {@link NameProposerService#getProposedNames} and then copied, or inserted straight into the
+ * consumer's map through {@link NameProposerService#insertProposedNames}, with a sink only supporting the methods
+ * the latter requires.
+ *
+ * <p>
+ * The classes of a jar, or synthetic classes, are indexed without Enigma, so only the proposers of the indexes which
+ * don't need a jar index from Enigma are run.
+ */
+public class ProposalHeapBenchmark {
+	private static final int WARMUP_ITERATIONS = 5;
+	private static final List<Class<? extends Index>> INDEXES = List.of(
+			RecordIndex.class, ConstantFieldIndex.class, CodecIndex.class, LoggerIndex.class, StructureIndex.class
+	);
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			Logger.info("Usage: ProposalHeapBenchmark <jar>|<synthetic classes> [<iterations>]");
+			System.exit(1);
+		}
+
+		List<ClassNode> nodes = args[0].endsWith(".jar") ? IndexTestUtil.getClassNodes(args[0]) : SyntheticJarGenerator.generate(Integer.parseInt(args[0]));
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		var indexer = new JarIndexer();
+		for (var indexClass : INDEXES) {
+			var index = indexer.getIndex(indexClass);
+			nodes.forEach(index::visitClassNode);
+			index.onIndexingEnded();
+		}
+
+		nodes = null;
+		var service = new StaticProposalService(indexer);
+
+		Consumer<Map<Entry<?>, EntryMapping>> copy = names -> names.putAll(service.getProposedNames(null, null));
+		Consumer<Map<Entry<?>, EntryMapping>> sink = names -> service.insertProposedNames(null, null, new Sink<>(names));
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			measure(copy, null);
+			measure(sink, null);
+		}
+
+		long copyPeak = Long.MAX_VALUE;
+		long sinkPeak = Long.MAX_VALUE;
+		int proposals = 0;
+
+		try (var monitor = new HeapPeakMonitor()) {
+			for (int i = 0; i < iterations; i++) {
+				copyPeak = Math.min(copyPeak, measure(copy, monitor));
+				sinkPeak = Math.min(sinkPeak, measure(sink, monitor));
+			}
+
+			Map<Entry<?>, EntryMapping> names = new HashMap<>();
+			sink.accept(names);
+			proposals = names.size();
+		}
+
+		Logger.info("ProposalHeapBenchmark\n"
+				+ "  " + proposals + " proposals\n"
+				+ "  " + String.format("%.2f", copyPeak / 1024.0 / 1024.0) + " MiB minimum peak heap with a returned map\n"
+				+ "  " + String.format("%.2f", sinkPeak / 1024.0 / 1024.0) + " MiB minimum peak heap with a sink");
+	}
+
+	private static long measure(Consumer<Map<Entry<?>, EntryMapping>> proposal, HeapPeakMonitor monitor) {
+		System.gc();
+		long baseline = HeapPeakMonitor.getHeapUsage();
+		if (monitor != null) {
+			monitor.reset();
+		}
+
+		Map<Entry<?>, EntryMapping> names = new HashMap<>();
+		proposal.accept(names);
+
+		long peak = monitor != null ? monitor.getPeak() - baseline : 0;
+		// Keep the names reachable until the peak is measured
+		names.size();
+		return peak;
+	}
+
+	private static class StaticProposalService extends NameProposerService {
+		StaticProposalService(JarIndexer indexer) {
+			this.add(indexer, RecordComponentNameProposer::new);
+			this.add(indexer, ConstantFieldNameProposer::new);
+			this.add(indexer, EqualsNameProposer::new);
+			this.add(indexer, LoggerNameProposer::new);
+			this.add(indexer, CodecNameProposer::new);
+		}
+
+		@Override
+		public String getId() {
+			return "proposal_heap_benchmark";
+		}
+	}
+
+	/**
+	 * Only supports the methods required by {@link NameProposerService#insertProposedNames}.
+	 */
+	private static class Sink<K, V> extends AbstractMap<K, V> {
+		private final Map<K, V> names;
+
+		Sink(Map<K, V> names) {
+			this.names = names;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.names.containsKey(key);
+		}
+
+		@Override
+		public V get(Object key) {
+			return this.names.get(key);
+		}
+
+		@Override
+		public V put(K key, V value) {
+			return this.names.put(key, value);
+		}
+
+		@Override
+		public int size() {
+			return this.names.size();
+		}
+
+		@Override
+		public Set<Map.Entry<K, V>> entrySet() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
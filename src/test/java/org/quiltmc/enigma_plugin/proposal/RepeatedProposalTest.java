@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.proposal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quiltmc.enigma.api.Enigma;
+import org.quiltmc.enigma.api.EnigmaProfile;
+import org.quiltmc.enigma.api.ProgressListener;
+import org.quiltmc.enigma.api.class_provider.ClasspathClassProvider;
+import org.quiltmc.enigma.api.service.JarIndexerService;
+import org.quiltmc.enigma.api.service.NameProposalService;
+import org.quiltmc.enigma_plugin.index.JarIndexer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class RepeatedProposalTest {
+	private static final Path JAR = Path.of("build/obf/obf.jar");
+	private static final Path PROFILE = Path.of("build/resources/testInputs/profile.json");
+
+	@Test
+	public void testProposingTwice() throws IOException {
+		var profile = EnigmaProfile.read(PROFILE);
+		var enigma = Enigma.builder().setProfile(profile).build();
+		var project = enigma.openJar(JAR, new ClasspathClassProvider(), ProgressListener.createEmpty());
+
+		var indexer = enigma.getServices().get(JarIndexerService.TYPE).stream()
+				.filter(JarIndexer.class::isInstance)
+				.map(JarIndexer.class::cast)
+				.findFirst().orElseThrow();
+		var service = enigma.getServices().get(NameProposalService.TYPE).stream()
+				.filter(DefaultProposalService.class::isInstance)
+				.map(DefaultProposalService.class::cast)
+				.findFirst().orElseThrow();
+
+		// Opening the project proposed the names of the jar, and released the data needed to propose them
+		Assertions.assertTrue(indexer.isProposalDataReleased());
+
+		// Proposing from freshly built indexes, like the first proposal did
+		indexer.ensureProposalData();
+		Assertions.assertFalse(indexer.isProposalDataReleased());
+		var first = service.getProposedNames(enigma, project.getJarIndex());
+		Assertions.assertTrue(indexer.isProposalDataReleased());
+
+		// Mappings being reloaded propose the names again, from released indexes
+		var second = service.getProposedNames(enigma, project.getJarIndex());
+
+		Assertions.assertFalse(first.isEmpty());
+		Assertions.assertEquals(first, second);
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// The previous implementation looped forever on some of these names
+@Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+public class CasingUtilTest {
+	@Test
+	public void testToCamelCase() {
+		Assertions.assertEquals("name", CasingUtil.toCamelCase("name"));
+		Assertions.assertEquals("name", CasingUtil.toCamelCase("Name"));
+		Assertions.assertEquals("fieldName", CasingUtil.toCamelCase("field_name"));
+		Assertions.assertEquals("someFieldName", CasingUtil.toCamelCase("some_field_name"));
+	}
+
+	@Test
+	public void testToCamelCaseMatchesPreviousImplementation() {
+		List<String> names = new ArrayList<>(List.of("value", "seed", "block_state", "max_y", "_name", "Some_field_name", "a_b_c"));
+
+		// Names whose underscores are all followed by a lower case letter, which the previous implementation handled
+		var random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			var name = new StringBuilder();
+			int words = 1 + random.nextInt(4);
+			for (int word = 0; word < words; word++) {
+				if (word > 0 || random.nextInt(10) == 0) {
+					name.append('_').append((char) ('a' + random.nextInt(26)));
+				}
+
+				int length = 1 + random.nextInt(5);
+				for (int c = 0; c < length; c++) {
+					name.append(randomWordCharacter(random));
+				}
+			}
+
+			names.add(name.toString());
+		}
+
+		for (String name : names) {
+			Assertions.assertEquals(previousToCamelCase(name), CasingUtil.toCamelCase(name), name);
+		}
+	}
+
+	@Test
+	public void testToCamelCaseDigitAfterUnderscore() {
+		Assertions.assertEquals("amount1", CasingUtil.toCamelCase("amount_1"));
+		Assertions.assertEquals("slot2Count", CasingUtil.toCamelCase("slot_2_count"));
+	}
+
+	@Test
+	public void testToCamelCaseTrailingUnderscore() {
+		Assertions.assertEquals("name", CasingUtil.toCamelCase("name_"));
+		Assertions.assertEquals("name", CasingUtil.toCamelCase("name__"));
+	}
+
+	@Test
+	public void testToCamelCaseConsecutiveUnderscores() {
+		Assertions.assertEquals("fieldName", CasingUtil.toCamelCase("field__name"));
+	}
+
+	@Test
+	public void testToCamelCaseUpperCaseAfterUnderscore() {
+		Assertions.assertEquals("fieldName", CasingUtil.toCamelCase("field_Name"));
+		Assertions.assertEquals("blockPOS", CasingUtil.toCamelCase("Block_POS"));
+	}
+
+	private static char randomWordCharacter(Random random) {
+		int c = random.nextInt(62);
+		if (c < 26) {
+			return (char) ('a' + c);
+		} else if (c < 52) {
+			return (char) ('A' + c - 26);
+		} else {
+			return (char) ('0' + c - 52);
+		}
+	}
+
+	// The implementation before underscores not followed by a lower case letter were handled
+	private static String previousToCamelCase(String name) {
+		name = Character.toLowerCase(name.charAt(0)) + name.substring(1);
+		while (name.contains("_")) {
+			name = name.replaceFirst("_[a-z]", String.valueOf(Character.toUpperCase(name.charAt(name.indexOf('_') + 1))));
+		}
+
+		return name;
+	}
+}
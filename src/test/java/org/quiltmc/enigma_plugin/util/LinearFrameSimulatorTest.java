@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.Interpreter;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.Value;
+import org.quiltmc.enigma_plugin.index.DelegateParametersIndex;
+import org.quiltmc.enigma_plugin.index.IndexTestUtil;
+import org.quiltmc.enigma_plugin.index.SyntheticJarGenerator;
+
+import java.util.List;
+
+public class LinearFrameSimulatorTest {
+	@Test
+	public void testTestInputs() throws AnalyzerException {
+		List<ClassNode> nodes = IndexTestUtil.getClassNodes(IndexTestUtil.OBF_JAR);
+		Assertions.assertTrue(compareFrames(nodes, new SourceInterpreter()) > 0);
+		Assertions.assertTrue(compareFrames(nodes, new DelegateParametersIndex.LocalVariableInterpreter()) > 0);
+	}
+
+	@Test
+	public void testSyntheticClasses() throws AnalyzerException {
+		List<ClassNode> nodes = SyntheticJarGenerator.generate(60);
+		Assertions.assertTrue(compareFrames(nodes, new SourceInterpreter()) > 0);
+		Assertions.assertTrue(compareFrames(nodes, new DelegateParametersIndex.LocalVariableInterpreter()) > 0);
+	}
+
+	/**
+	 * Compares the simulated frames of every linear method with the frames computed by an analyzer.
+	 *
+	 * @return the number of compared methods
+	 */
+	private static <V extends Value> int compareFrames(List<ClassNode> nodes, Interpreter<V> interpreter) throws AnalyzerException {
+		var analyzer = new Analyzer<>(interpreter);
+		int methods = 0;
+
+		for (ClassNode node : nodes) {
+			for (MethodNode method : node.methods) {
+				if (method.instructions.size() == 0 || !LinearFrameSimulator.isLinear(method)) {
+					continue;
+				}
+
+				String location = node.name + "." + method.name + method.desc;
+				Frame<V>[] expected = analyzer.analyze(node.name, method);
+				Frame<V>[] frames = LinearFrameSimulator.simulate(node.name, method, interpreter, insn -> true);
+				Frame<V>[] invocationFrames = LinearFrameSimulator.simulate(node.name, method, interpreter, insn -> insn instanceof MethodInsnNode);
+
+				Assertions.assertEquals(expected.length, frames.length, location);
+				for (int i = 0; i < expected.length; i++) {
+					assertFrameEquals(expected[i], frames[i], location + " @ " + i);
+
+					if (method.instructions.get(i) instanceof MethodInsnNode) {
+						assertFrameEquals(expected[i], invocationFrames[i], location + " @ " + i);
+					} else {
+						Assertions.assertNull(invocationFrames[i], location + " @ " + i);
+					}
+				}
+
+				methods++;
+			}
+		}
+
+		return methods;
+	}
+
+	private static <V extends Value> void assertFrameEquals(Frame<V> expected, Frame<V> actual, String location) {
+		if (expected == null) {
+			Assertions.assertNull(actual, location);
+			return;
+		}
+
+		Assertions.assertNotNull(actual, location);
+		Assertions.assertEquals(expected.getLocals(), actual.getLocals(), location);
+		Assertions.assertEquals(expected.getStackSize(), actual.getStackSize(), location);
+		for (int i = 0; i < expected.getLocals(); i++) {
+			Assertions.assertEquals(expected.getLocal(i), actual.getLocal(i), location + ", local " + i);
+		}
+
+		for (int i = 0; i < expected.getStackSize(); i++) {
+			Assertions.assertEquals(expected.getStack(i), actual.getStack(i), location + ", stack " + i);
+		}
+	}
+}
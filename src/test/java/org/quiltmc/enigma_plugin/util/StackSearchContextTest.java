@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.enigma_plugin.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Analyzer;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import org.objectweb.asm.tree.analysis.SourceInterpreter;
+import org.objectweb.asm.tree.analysis.SourceValue;
+import org.quiltmc.enigma_plugin.index.IndexTestUtil;
+import org.quiltmc.enigma_plugin.index.SyntheticJarGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class StackSearchContextTest implements Opcodes {
+	private static final Predicate<AbstractInsnNode> STRING_CST = insnNode -> insnNode instanceof LdcInsnNode ldc && ldc.cst instanceof String constant && !constant.isBlank();
+
+	@Test
+	public void testTestInputs() throws AnalyzerException {
+		int searches = compareSearches(IndexTestUtil.getClassNodes(IndexTestUtil.OBF_JAR));
+		Assertions.assertTrue(searches > 0);
+	}
+
+	@Test
+	public void testSyntheticClasses() throws AnalyzerException {
+		int searches = compareSearches(SyntheticJarGenerator.generate(60));
+		Assertions.assertTrue(searches > 0);
+	}
+
+	/**
+	 * Compares the searches of a shared context, run forwards and backwards so that different instructions hit the
+	 * cache first, with the recursive search the context replaced.
+	 *
+	 * @return the number of compared instructions
+	 */
+	private static int compareSearches(List<ClassNode> nodes) throws AnalyzerException {
+		var analyzer = new Analyzer<>(new SourceInterpreter());
+		int searches = 0;
+
+		for (ClassNode node : nodes) {
+			for (MethodNode method : node.methods) {
+				if (method.instructions.size() == 0) {
+					continue;
+				}
+
+				InsnList insns = method.instructions;
+				Frame<SourceValue>[] frames = analyzer.analyze(node.name, method);
+				List<AbstractInsnNode> frameInsns = new ArrayList<>();
+				for (int i = 0; i < insns.size(); i++) {
+					if (frames[i] != null) {
+						frameInsns.add(insns.get(i));
+					}
+				}
+
+				var forwards = new StackSearchContext(insns, frames);
+				var backwards = new StackSearchContext(insns, frames);
+				for (int i = 0; i < frameInsns.size(); i++) {
+					compareSearches(node, method, frames, frameInsns.get(i), forwards);
+					compareSearches(node, method, frames, frameInsns.get(frameInsns.size() - 1 - i), backwards);
+					searches++;
+				}
+			}
+		}
+
+		return searches;
+	}
+
+	private static void compareSearches(ClassNode node, MethodNode method, Frame<SourceValue>[] frames, AbstractInsnNode insn, StackSearchContext context) {
+		InsnList insns = method.instructions;
+		String location = node.name + "." + method.name + method.desc + " @ " + insns.indexOf(insn);
+
+		Assertions.assertEquals(stringCst(referenceSearch(insns, insn, frames, STRING_CST, false)), context.searchStringCst(insn), location);
+		Assertions.assertEquals(stringCst(referenceSearch(insns, insn, frames, STRING_CST, true)), context.shallowSearchStringCst(insn), location);
+		Assertions.assertSame(referenceSearch(insns, insn, frames, staticField(node.name), false), context.searchStaticFieldReference(insn, node.name), location);
+	}
+
+	private static Predicate<AbstractInsnNode> staticField(String clazz) {
+		return insnNode -> insnNode instanceof FieldInsnNode fieldInsn && fieldInsn.getOpcode() == GETSTATIC && !fieldInsn.owner.equals(clazz);
+	}
+
+	private static String stringCst(AbstractInsnNode insn) {
+		return insn instanceof LdcInsnNode ldc ? (String) ldc.cst : null;
+	}
+
+	// The recursive search of AsmUtil before StackSearchContext
+	private static AbstractInsnNode referenceSearch(InsnList insns, AbstractInsnNode frameInsn, Frame<SourceValue>[] frames, Predicate<AbstractInsnNode> insnPredicate, boolean shallow) {
+		int frameIndex = insns.indexOf(frameInsn);
+		var frame = frames[frameIndex];
+
+		AbstractInsnNode lastStackInsn = null;
+		for (int i = 0; i < frame.getStackSize(); i++) {
+			var value = frame.getStack(i);
+			for (var stackInsn : value.insns) {
+				if (insnPredicate.test(stackInsn)) {
+					return stackInsn;
+				} else if (stackInsn.getOpcode() == INVOKESTATIC && !shallow) {
+					if (!(frameInsn instanceof MethodInsnNode mInsn) || mInsn.owner.equals(((MethodInsnNode) stackInsn).owner)) {
+						return referenceSearch(insns, stackInsn, frames, insnPredicate, false);
+					}
+				}
+
+				lastStackInsn = stackInsn;
+			}
+		}
+
+		if (!shallow && lastStackInsn != null && lastStackInsn.getOpcode() == DUP && lastStackInsn.getPrevious() != null && lastStackInsn.getPrevious().getOpcode() == NEW) {
+			int searchFrameIndex = insns.indexOf(lastStackInsn) + 1;
+			var searchFrame = frames[searchFrameIndex];
+
+			while (searchFrame != null && searchFrameIndex <= frameIndex) {
+				int count = 0;
+				for (int j = 0; j < searchFrame.getStackSize(); j++) {
+					if (frame.getStack(j).insns.contains(lastStackInsn)) {
+						count++;
+						if (count == 2) {
+							break;
+						}
+					}
+				}
+
+				if (count == 2) {
+					searchFrameIndex++;
+					if (searchFrameIndex < frames.length) {
+						searchFrame = frames[searchFrameIndex];
+					} else {
+						searchFrame = null;
+					}
+				} else {
+					var insn = insns.get(searchFrameIndex - 1);
+					if (insn != frameInsn) {
+						return referenceSearch(insns, insn, frames, insnPredicate, false);
+					}
+
+					return null; // Used to loop forever
+				}
+			}
+		}
+
+		return null;
+	}
+}
@@ -35,4 +35,24 @@ public class GetterSetterTest {
 	public void setY(String y) {
 		this.y = y;
 	}
+
+	public static class Counter {
+		private int count;
+
+		public Counter(int count) {
+			this.count = count;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public void reset(int count) {
+			this.setCount(count);
+		}
+	}
 }